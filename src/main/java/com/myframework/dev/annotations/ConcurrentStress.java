@@ -0,0 +1,31 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs a test method concurrently from several threads on a shared test instance.
+ * All threads are released at the same time by a barrier and each one invokes the
+ * test method {@link #iterations()} times. {@code @BeforeEach} runs once before the
+ * threads start and {@code @AfterEach} runs once after they have all finished, so it
+ * can be used to check invariants on the shared state.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ConcurrentStress {
+    /**
+     * Number of threads invoking the test method at the same time.
+     */
+    int threads() default 4;
+
+    /**
+     * Number of invocations performed by each thread.
+     */
+    int iterations() default 1000;
+
+    /**
+     * Seed for the interleaving perturbation between invocations.
+     * A value of 0 picks a new seed on every run; the seed used is reported
+     * with the result so that a failing interleaving can be replayed.
+     */
+    long seed() default 0;
+}
@@ -0,0 +1,23 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares that a test runs only after other tests have passed.
+ * <p>
+ * On a test method, the values are names of test methods of the same class.
+ * The method runs after all of them and is skipped if any of them did not
+ * pass. Methods of such a class that do not depend on each other may run at
+ * the same time when the runner is started with {@code --parallel}.
+ * <p>
+ * On a test class, the values are names of other test classes of the run,
+ * fully qualified or simple. The class runs after them and all of its tests
+ * are skipped if a test of those classes failed or they were skipped themselves.
+ * <p>
+ * Tests and classes on a dependency cycle are skipped.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface DependsOn {
+    String[] value();
+}
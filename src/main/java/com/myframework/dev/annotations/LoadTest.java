@@ -0,0 +1,35 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Drives a test method at a fixed arrival rate for a fixed duration (open model).
+ * Each invocation is scheduled at its intended start time, and its latency is
+ * measured from that time rather than from when a worker became free, so slow
+ * responses are not hidden by the load generator falling behind.
+ * {@code @BeforeEach} and {@code @AfterEach} run once around the whole run.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LoadTest {
+    /**
+     * Number of invocations started per second.
+     */
+    int ratePerSecond() default 100;
+
+    /**
+     * Duration of the run in milliseconds.
+     */
+    long duration() default 10_000;
+
+    /**
+     * Maximum number of invocations in flight at the same time.
+     */
+    int concurrency() default 1;
+
+    /**
+     * Upper bound for the 99th percentile latency in milliseconds.
+     * If the measured p99 is higher, the test fails. A value of 0 means no limit.
+     */
+    double maxP99Millis() default 0;
+}
@@ -0,0 +1,26 @@
+package com.myframework.dev.annotations;
+
+import com.myframework.dev.core.FixtureProvider;
+
+import java.lang.annotation.*;
+
+/**
+ * Injects a fixture that is created once per run and shared by every test
+ * class that asks for it, instead of being rebuilt in each class's
+ * {@code @BeforeAll}. The provider creates the fixture on first use and closes
+ * it at the end of the run.
+ * <p>
+ * Static fields are set before the class's {@code @BeforeAll} methods run,
+ * instance fields when a test instance is created. Tests that change a shared
+ * fixture should declare it with {@link UsesResource} so that they do not run
+ * at the same time as other tests using it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface SharedFixture {
+
+    /**
+     * Provider that creates the fixture. It needs a no-argument constructor.
+     */
+    Class<? extends FixtureProvider<?>> value();
+}
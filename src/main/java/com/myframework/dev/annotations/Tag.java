@@ -0,0 +1,15 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Assigns a test class or test method to a category, such as {@code fast} or
+ * {@code db}, that can be selected with {@code --select}. A test has the tags
+ * of its method and of its class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Repeatable(Tags.class)
+public @interface Tag {
+    String value();
+}
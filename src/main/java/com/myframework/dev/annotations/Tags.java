@@ -0,0 +1,12 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Container for repeated {@link Tag} annotations.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Tags {
+    Tag[] value();
+}
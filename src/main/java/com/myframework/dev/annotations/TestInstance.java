@@ -0,0 +1,26 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Sets how often the runner creates an instance of a test class.
+ * With {@link Lifecycle#PER_CLASS} one instance is created before the first
+ * test of the class and shared by all of its tests, and {@code @BeforeAll}
+ * and {@code @AfterAll} methods may be non-static; they run on that instance.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface TestInstance {
+
+    Lifecycle value();
+
+    /**
+     * Test instance lifecycle.
+     */
+    enum Lifecycle {
+        /** A new instance for every test method (the default). */
+        PER_METHOD,
+        /** One instance for all test methods of the class. */
+        PER_CLASS
+    }
+}
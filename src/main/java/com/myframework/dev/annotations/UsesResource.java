@@ -0,0 +1,36 @@
+package com.myframework.dev.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares that a test class or test method uses a named shared resource, such
+ * as a database or a directory. When tests run in parallel, tests that use the
+ * same resource do not overlap unless all of them only read it. A resource
+ * declared on the class applies to all of its tests and to its
+ * {@code @BeforeAll} and {@code @AfterAll} methods.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Repeatable(UsesResources.class)
+public @interface UsesResource {
+
+    /**
+     * Name of the resource.
+     */
+    String value();
+
+    /**
+     * How the resource is used.
+     */
+    Mode mode() default Mode.WRITE;
+
+    /**
+     * Access mode of a resource.
+     */
+    enum Mode {
+        /** Shared with other readers of the resource. */
+        READ,
+        /** Exclusive: no other test uses the resource at the same time. */
+        WRITE
+    }
+}
@@ -1,20 +1,85 @@
 package com.myframework.dev.core;
 
+import com.myframework.dev.jfr.TestEvent;
+import com.myframework.dev.jfr.TestPhaseEvent;
 import com.myframework.dev.report.TestReporter;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Base class for test executors that handles test execution logic.
  */
 public abstract class AbstractTestExecutor implements TestExecutor {
 
+    private static int contentionMonitoringUsers;
+    private static boolean contentionMonitoringWasEnabled;
+
+    private final Map<Class<?>, Object> classInstances = new ConcurrentHashMap<>();
+
+    @Override
+    public Object getClassInstance(TestCase testCase) throws Exception {
+        if (!testCase.isPerClassInstance()) {
+            return null;
+        }
+        try {
+            return classInstances.computeIfAbsent(testCase.getTestClass(), testClass -> {
+                try {
+                    return newTestInstance(testCase);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+        } catch (CompletionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    @Override
+    public void releaseClassInstance(Class<?> testClass) {
+        classInstances.remove(testClass);
+    }
+
     @Override
     public final TestResult execute(TestCase testCase, TestReporter reporter) {
         String testName = testCase.getTestClass().getSimpleName() + "." +
                 testCase.getTestMethod().getName();
         reporter.testStarted(testName);
 
+        TestEvent event = new TestEvent();
+        event.begin();
+        OutputCapture.Capture capture = OutputCapture.begin();
+        TestResult result;
+        try {
+            result = executeTest(testCase, testName, reporter).withTestId(testCase.getId());
+        } finally {
+            if (capture != null) {
+                capture.end();
+            }
+        }
+        if (capture != null && !result.isSuccess() && !result.isSkipped() && !capture.isEmpty()) {
+            result = result.withOutput(capture.getOut(), capture.getErr());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.testName = testName;
+            event.status = result.getStatus().name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private TestResult executeTest(TestCase testCase, String testName, TestReporter reporter) {
         // Check if test is disabled
         if (testCase.isDisabled()) {
             String reason = testCase.getDisabledReason();
@@ -25,16 +90,30 @@ public abstract class AbstractTestExecutor implements TestExecutor {
         Class<? extends Throwable> expectedException = testCase.getExpectedException();
 
         if (timeout > 0) {
-            return executeWithTimeout(testCase, testName, timeout, expectedException);
+            return executeWithTimeout(testCase, testName, reporter, timeout, expectedException);
+        } else {
+            return executeBody(testCase, testName, reporter, expectedException);
+        }
+    }
+
+    private TestResult executeBody(TestCase testCase, String testName, TestReporter reporter,
+                                   Class<? extends Throwable> expectedException) {
+        TestMetrics.Sampler sampler = TestMetrics.start();
+        TestResult result;
+        if (testCase.isConcurrentStress()) {
+            result = executeConcurrentStress(testCase, testName, reporter, sampler);
+        } else if (testCase.isLoadTest()) {
+            result = executeLoadTest(testCase, testName, reporter, sampler);
         } else {
-            return executeNormal(testCase, testName, expectedException);
+            result = executeNormal(testCase, testName, reporter, expectedException);
         }
+        return result.withMetrics(sampler.stop());
     }
 
-    private TestResult executeWithTimeout(TestCase testCase, String testName, long timeout, 
+    private TestResult executeWithTimeout(TestCase testCase, String testName, TestReporter reporter, long timeout,
                                           Class<? extends Throwable> expectedException) {
         ExecutorService executor = Executors.newSingleThreadExecutor();
-        Future<TestResult> future = executor.submit(() -> executeNormal(testCase, testName, expectedException));
+        Future<TestResult> future = executor.submit(() -> executeBody(testCase, testName, reporter, expectedException));
 
         try {
             return future.get(timeout, TimeUnit.MILLISECONDS);
@@ -54,15 +133,17 @@ public abstract class AbstractTestExecutor implements TestExecutor {
         }
     }
 
-    private TestResult executeNormal(TestCase testCase, String testName, 
+    private TestResult executeNormal(TestCase testCase, String testName, TestReporter reporter, 
                                      Class<? extends Throwable> expectedException) {
         long start = System.currentTimeMillis();
 
         try {
-            Object instance = createTestInstance(testCase);
-            runBeforeEach(testCase, instance);
-            runTestMethod(testCase, instance);
-            runAfterEach(testCase, instance);
+            Object instance = setUpInstance(testCase, testName, reporter);
+            runPhase(LifecyclePhase.TEST, testName, reporter, () -> {
+                runTestMethod(testCase, instance);
+                return null;
+            });
+            tearDownInstance(testCase, testName, reporter, instance);
 
             // If we reach here, no exception was thrown
             if (expectedException != null) {
@@ -100,6 +181,376 @@ public abstract class AbstractTestExecutor implements TestExecutor {
         }
     }
 
+    /**
+     * Invokes the test method from several threads on one shared instance.
+     * {@code @BeforeEach} and {@code @AfterEach} run once around the whole run.
+     */
+    private TestResult executeConcurrentStress(TestCase testCase, String testName, TestReporter reporter,
+                                               TestMetrics.Sampler sampler) {
+        int threads = testCase.getStressThreads();
+        int iterations = testCase.getStressIterations();
+        long seed = testCase.getStressSeed() != 0 ? testCase.getStressSeed() : System.nanoTime();
+        long start = System.currentTimeMillis();
+
+        Object instance;
+        try {
+            instance = setUpInstance(testCase, testName, reporter);
+        } catch (Throwable t) {
+            Throwable cause = t.getCause() != null ? t.getCause() : t;
+            return TestResult.failed(testName, cause, System.currentTimeMillis() - start);
+        }
+
+        beginContentionMonitoring();
+        try {
+            return runConcurrentStress(testCase, testName, reporter, sampler, instance, threads, iterations, seed,
+                start);
+        } finally {
+            endContentionMonitoring();
+        }
+    }
+
+    private TestResult runConcurrentStress(TestCase testCase, String testName, TestReporter reporter,
+                                           TestMetrics.Sampler sampler, Object instance, int threads,
+                                           int iterations, long seed, long start) {
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<StressStats>> futures = new ArrayList<>();
+        long runStart = System.nanoTime();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Random random = new Random(seed + i);
+                futures.add(pool.submit(() -> {
+                    TestMetrics.Sampler.ThreadSample threadSample = sampler.startThread();
+                    try {
+                        return runStressThread(testCase, instance, iterations, barrier, random);
+                    } finally {
+                        threadSample.stop();
+                    }
+                }));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<StressStats> stats = new ArrayList<>();
+        try {
+            for (Future<StressStats> future : futures) {
+                stats.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            return TestResult.failed(testName, new AssertionError("Test was interrupted"),
+                    System.currentTimeMillis() - start);
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            return TestResult.failed(testName, e.getCause(), System.currentTimeMillis() - start);
+        }
+        long runNanos = System.nanoTime() - runStart;
+
+        long invocations = 0;
+        long failures = 0;
+        long blockedMillis = 0;
+        long waitedMillis = 0;
+        int failedThreads = 0;
+        Throwable firstFailure = null;
+        List<Throwable> otherFailures = new ArrayList<>();
+        StringBuilder perThread = new StringBuilder();
+        for (int i = 0; i < stats.size(); i++) {
+            StressStats s = stats.get(i);
+            invocations += s.completed + s.failed;
+            failures += s.failed;
+            blockedMillis += Math.max(s.blockedMillis, 0);
+            waitedMillis += Math.max(s.waitedMillis, 0);
+            if (s.firstFailure != null) {
+                failedThreads++;
+                perThread.append("\n  thread ").append(i).append(": ").append(s.failed)
+                        .append(" failed, first at iteration ").append(s.firstFailureIteration)
+                        .append(" - ").append(s.firstFailure);
+                if (firstFailure == null) {
+                    firstFailure = s.firstFailure;
+                } else {
+                    otherFailures.add(s.firstFailure);
+                }
+            }
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("stress.threads", String.valueOf(threads));
+        properties.put("stress.iterations", String.valueOf(iterations));
+        properties.put("stress.seed", String.valueOf(seed));
+        properties.put("stress.invocations", String.valueOf(invocations));
+        properties.put("stress.failures", String.valueOf(failures));
+        properties.put("stress.throughput", String.format("%.1f ops/s", invocations * 1e9 / Math.max(runNanos, 1)));
+        if (ManagementFactory.getThreadMXBean().isThreadContentionMonitoringEnabled()) {
+            properties.put("stress.blockedMillis", String.valueOf(blockedMillis));
+            properties.put("stress.waitedMillis", String.valueOf(waitedMillis));
+        }
+
+        // @AfterEach sees the shared state once all threads are done
+        Throwable afterEachFailure = null;
+        try {
+            tearDownInstance(testCase, testName, reporter, instance);
+        } catch (Throwable t) {
+            afterEachFailure = t.getCause() != null ? t.getCause() : t;
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        if (firstFailure != null) {
+            AssertionError error = new AssertionError(
+                "Concurrent stress failed: " + failures + " of " + invocations + " invocations failed in "
+                    + failedThreads + " of " + threads + " threads (seed=" + seed + ")" + perThread);
+            error.initCause(firstFailure);
+            otherFailures.forEach(error::addSuppressed);
+            if (afterEachFailure != null) {
+                error.addSuppressed(afterEachFailure);
+            }
+            return TestResult.failed(testName, error, elapsed).withProperties(properties);
+        }
+        if (afterEachFailure != null) {
+            return TestResult.failed(testName, afterEachFailure, elapsed).withProperties(properties);
+        }
+        return TestResult.passed(testName, elapsed).withProperties(properties);
+    }
+
+    /**
+     * Enables thread contention monitoring for blocked and waited times. The
+     * setting is JVM-wide and shared by stress tests of classes that run in
+     * parallel, so the previous state is restored when the last one ends.
+     */
+    private static synchronized void beginContentionMonitoring() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (contentionMonitoringUsers++ == 0 && threadBean.isThreadContentionMonitoringSupported()) {
+            contentionMonitoringWasEnabled = threadBean.isThreadContentionMonitoringEnabled();
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+    }
+
+    private static synchronized void endContentionMonitoring() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (--contentionMonitoringUsers == 0 && threadBean.isThreadContentionMonitoringSupported()) {
+            threadBean.setThreadContentionMonitoringEnabled(contentionMonitoringWasEnabled);
+        }
+    }
+
+    private StressStats runStressThread(TestCase testCase, Object instance, int iterations,
+                                        CyclicBarrier barrier, Random random) throws Exception {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        StressStats stats = new StressStats();
+
+        barrier.await();
+        ThreadInfo before = threadBean.getThreadInfo(threadId);
+        for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+            try {
+                runTestMethod(testCase, instance);
+                stats.completed++;
+            } catch (Throwable t) {
+                stats.failed++;
+                if (stats.firstFailure == null) {
+                    stats.firstFailure = t.getCause() != null ? t.getCause() : t;
+                    stats.firstFailureIteration = i;
+                }
+            }
+            // Seeded perturbation so that different seeds explore different interleavings
+            if (random.nextInt(8) == 0) {
+                Thread.yield();
+            }
+        }
+        ThreadInfo after = threadBean.getThreadInfo(threadId);
+        if (before != null && after != null && before.getBlockedTime() >= 0) {
+            stats.blockedMillis = after.getBlockedTime() - before.getBlockedTime();
+            stats.waitedMillis = after.getWaitedTime() - before.getWaitedTime();
+        }
+        return stats;
+    }
+
+    /**
+     * Outcome of one thread of a concurrent stress run.
+     */
+    private static final class StressStats {
+        long completed;
+        long failed;
+        long blockedMillis = -1;
+        long waitedMillis = -1;
+        Throwable firstFailure;
+        int firstFailureIteration;
+    }
+
+    /**
+     * Invokes the test method at a fixed arrival rate on one shared instance and
+     * records latencies from each invocation's intended start time.
+     */
+    private TestResult executeLoadTest(TestCase testCase, String testName, TestReporter reporter,
+                                       TestMetrics.Sampler sampler) {
+        int rate = testCase.getLoadRatePerSecond();
+        int concurrency = testCase.getLoadConcurrency();
+        long start = System.currentTimeMillis();
+
+        Object instance;
+        try {
+            instance = setUpInstance(testCase, testName, reporter);
+        } catch (Throwable t) {
+            Throwable cause = t.getCause() != null ? t.getCause() : t;
+            return TestResult.failed(testName, cause, System.currentTimeMillis() - start);
+        }
+
+        long totalRequests = Math.max(1, rate * testCase.getLoadDurationMillis() / 1000);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        LatencyHistogram histogram = new LatencyHistogram();
+        AtomicLong nextRequest = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        long scheduleStart = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(pool.submit(() -> {
+                    TestMetrics.Sampler.ThreadSample threadSample = sampler.startThread();
+                    try {
+                        long request;
+                        while ((request = nextRequest.getAndIncrement()) < totalRequests
+                                && !Thread.currentThread().isInterrupted()) {
+                            long intendedStart = scheduleStart + request * intervalNanos;
+                            long wait;
+                            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                            try {
+                                runTestMethod(testCase, instance);
+                            } catch (Throwable t) {
+                                errors.incrementAndGet();
+                                firstError.compareAndSet(null, t.getCause() != null ? t.getCause() : t);
+                            }
+                            histogram.record(System.nanoTime() - intendedStart);
+                        }
+                    } finally {
+                        threadSample.stop();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            return TestResult.failed(testName, new AssertionError("Test was interrupted"),
+                    System.currentTimeMillis() - start);
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            return TestResult.failed(testName, e.getCause(), System.currentTimeMillis() - start);
+        } finally {
+            pool.shutdown();
+        }
+        long runNanos = System.nanoTime() - scheduleStart;
+
+        double p99Millis = histogram.getValueAtPercentile(99) / 1e6;
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("load.targetRate", rate + " req/s");
+        properties.put("load.achievedRate", String.format("%.1f req/s",
+                histogram.getTotalCount() * 1e9 / Math.max(runNanos, 1)));
+        properties.put("load.concurrency", String.valueOf(concurrency));
+        properties.put("load.requests", String.valueOf(histogram.getTotalCount()));
+        properties.put("load.errors", String.valueOf(errors.get()));
+        properties.put("load.p50", formatMillis(histogram.getValueAtPercentile(50)));
+        properties.put("load.p90", formatMillis(histogram.getValueAtPercentile(90)));
+        properties.put("load.p99", formatMillis(histogram.getValueAtPercentile(99)));
+        properties.put("load.p999", formatMillis(histogram.getValueAtPercentile(99.9)));
+        properties.put("load.max", formatMillis(histogram.getMax()));
+
+        Throwable afterEachFailure = null;
+        try {
+            tearDownInstance(testCase, testName, reporter, instance);
+        } catch (Throwable t) {
+            afterEachFailure = t.getCause() != null ? t.getCause() : t;
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        if (firstError.get() != null) {
+            AssertionError error = new AssertionError(
+                errors.get() + " of " + histogram.getTotalCount() + " requests failed");
+            error.initCause(firstError.get());
+            if (afterEachFailure != null) {
+                error.addSuppressed(afterEachFailure);
+            }
+            return TestResult.failed(testName, error, elapsed).withProperties(properties);
+        }
+        double maxP99 = testCase.getLoadMaxP99Millis();
+        if (maxP99 > 0 && p99Millis > maxP99) {
+            AssertionError error = new AssertionError(
+                "p99 latency " + formatMillis(histogram.getValueAtPercentile(99)) + " exceeds limit " + maxP99 + " ms");
+            if (afterEachFailure != null) {
+                error.addSuppressed(afterEachFailure);
+            }
+            return TestResult.failed(testName, error, elapsed).withProperties(properties);
+        }
+        if (afterEachFailure != null) {
+            return TestResult.failed(testName, afterEachFailure, elapsed).withProperties(properties);
+        }
+        return TestResult.passed(testName, elapsed).withProperties(properties);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f ms", nanos / 1e6);
+    }
+
+    private Object setUpInstance(TestCase testCase, String testName, TestReporter reporter) throws Exception {
+        Object instance = runPhase(LifecyclePhase.CREATE_INSTANCE, testName, reporter,
+                () -> testCase.isPerClassInstance() ? getClassInstance(testCase) : newTestInstance(testCase));
+        runPhase(LifecyclePhase.BEFORE_EACH, testName, reporter, () -> {
+            runBeforeEach(testCase, instance);
+            return null;
+        });
+        return instance;
+    }
+
+    /**
+     * Creates a test instance and sets its {@code @SharedFixture} fields.
+     */
+    private Object newTestInstance(TestCase testCase) throws Exception {
+        Object instance = createTestInstance(testCase);
+        SharedFixtures.getDefault().injectInstance(instance);
+        return instance;
+    }
+
+    private void tearDownInstance(TestCase testCase, String testName, TestReporter reporter, Object instance)
+            throws Exception {
+        runPhase(LifecyclePhase.AFTER_EACH, testName, reporter, () -> {
+            runAfterEach(testCase, instance);
+            return null;
+        });
+    }
+
+    /**
+     * Runs one lifecycle phase, notifying the reporter and recording it as a
+     * JFR event when Flight Recorder is enabled.
+     */
+    private <T> T runPhase(LifecyclePhase phase, String testName, TestReporter reporter, PhaseAction<T> action)
+            throws Exception {
+        TestPhaseEvent event = new TestPhaseEvent();
+        event.begin();
+        reporter.phaseStarted(testName, phase);
+        try {
+            return action.run();
+        } finally {
+            reporter.phaseFinished(testName, phase);
+            event.end();
+            if (event.shouldCommit()) {
+                event.owner = testName;
+                event.phase = phase.getDisplayName();
+                event.commit();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PhaseAction<T> {
+        T run() throws Exception;
+    }
+
     protected abstract Object createTestInstance(TestCase testCase) throws Exception;
 
     protected abstract void runBeforeEach(TestCase testCase, Object instance) throws Exception;
@@ -1,11 +1,24 @@
 package com.myframework.dev.core;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
 /**
  * Utility class for test assertions.
  * Provides methods to verify test conditions.
  */
 public final class Assert {
 
+    /** Number of elements shown on each side of the first difference in array failures. */
+    private static final int MISMATCH_WINDOW = 5;
+
     private Assert() {
         // utility class
     }
@@ -32,6 +45,243 @@ public final class Assert {
         throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
     }
 
+    /**
+     * Asserts that two integral values are equal without boxing them.
+     */
+    public static void assertEquals(long expected, long actual) {
+        if (expected != actual) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    public static void assertEquals(int expected, int actual) {
+        if (expected != actual) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    public static void assertEquals(short expected, short actual) {
+        if (expected != actual) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    public static void assertEquals(byte expected, byte actual) {
+        if (expected != actual) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    public static void assertEquals(char expected, char actual) {
+        if (expected != actual) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    /**
+     * Asserts that two doubles are exactly equal, using the same semantics as
+     * {@link Double#equals(Object)}.
+     */
+    public static void assertEquals(double expected, double actual) {
+        if (Double.compare(expected, actual) != 0) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    /**
+     * Asserts that two floats are exactly equal, using the same semantics as
+     * {@link Float#equals(Object)}.
+     */
+    public static void assertEquals(float expected, float actual) {
+        if (Float.compare(expected, actual) != 0) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    /**
+     * Asserts that two doubles are equal within a non-negative delta.
+     * NaN equals NaN, and infinities only equal themselves.
+     */
+    public static void assertEquals(double expected, double actual, double delta) {
+        if (Double.compare(expected, actual) == 0) {
+            return;
+        }
+        if (!(Math.abs(expected - actual) <= delta)) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + "> (delta " + delta + ")");
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal within a non-negative delta.
+     */
+    public static void assertEquals(float expected, float actual, float delta) {
+        if (Float.compare(expected, actual) == 0) {
+            return;
+        }
+        if (!(Math.abs(expected - actual) <= delta)) {
+            throw new AssertionError("Expected <" + expected + "> but was <" + actual + "> (delta " + delta + ")");
+        }
+    }
+
+    public static void assertArrayEquals(byte[] expected, byte[] actual) {
+        if (expected == actual) {
+            return;
+        }
+        checkArraysNotNull(expected, actual);
+        int index = Arrays.mismatch(expected, actual);
+        if (index >= 0) {
+            throw arrayMismatch(index, expected.length, actual.length,
+                i -> String.valueOf(expected[i]), i -> String.valueOf(actual[i]));
+        }
+    }
+
+    public static void assertArrayEquals(int[] expected, int[] actual) {
+        if (expected == actual) {
+            return;
+        }
+        checkArraysNotNull(expected, actual);
+        int index = Arrays.mismatch(expected, actual);
+        if (index >= 0) {
+            throw arrayMismatch(index, expected.length, actual.length,
+                i -> String.valueOf(expected[i]), i -> String.valueOf(actual[i]));
+        }
+    }
+
+    public static void assertArrayEquals(long[] expected, long[] actual) {
+        if (expected == actual) {
+            return;
+        }
+        checkArraysNotNull(expected, actual);
+        int index = Arrays.mismatch(expected, actual);
+        if (index >= 0) {
+            throw arrayMismatch(index, expected.length, actual.length,
+                i -> String.valueOf(expected[i]), i -> String.valueOf(actual[i]));
+        }
+    }
+
+    /**
+     * Asserts that two double arrays are exactly equal, using the same
+     * semantics as {@link Double#equals(Object)}.
+     */
+    public static void assertArrayEquals(double[] expected, double[] actual) {
+        if (expected == actual) {
+            return;
+        }
+        checkArraysNotNull(expected, actual);
+        int index = Arrays.mismatch(expected, actual);
+        if (index >= 0) {
+            throw arrayMismatch(index, expected.length, actual.length,
+                i -> String.valueOf(expected[i]), i -> String.valueOf(actual[i]));
+        }
+    }
+
+    /**
+     * Asserts that two double arrays have the same length and that their elements
+     * are pairwise equal within a non-negative delta.
+     */
+    public static void assertArrayEquals(double[] expected, double[] actual, double delta) {
+        if (expected == actual) {
+            return;
+        }
+        checkArraysNotNull(expected, actual);
+        int length = Math.min(expected.length, actual.length);
+        int index = -1;
+        for (int i = 0; i < length; i++) {
+            if (Double.compare(expected[i], actual[i]) != 0 && !(Math.abs(expected[i] - actual[i]) <= delta)) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0 && expected.length != actual.length) {
+            index = length;
+        }
+        if (index >= 0) {
+            throw arrayMismatch(index, expected.length, actual.length,
+                i -> String.valueOf(expected[i]), i -> String.valueOf(actual[i]));
+        }
+    }
+
+    public static void assertArrayEquals(Object[] expected, Object[] actual) {
+        if (expected == actual) {
+            return;
+        }
+        checkArraysNotNull(expected, actual);
+        int index = Arrays.mismatch(expected, actual);
+        if (index >= 0) {
+            throw arrayMismatch(index, expected.length, actual.length,
+                i -> String.valueOf(expected[i]), i -> String.valueOf(actual[i]));
+        }
+    }
+
+    /**
+     * Asserts that two files have identical content. The files are compared through
+     * memory-mapped windows, so they can be larger than the heap. The failure reports
+     * the byte offset, line and column of the first difference.
+     */
+    public static void assertFileEquals(Path expected, Path actual) {
+        ContentComparator.Mismatch mismatch;
+        try {
+            mismatch = ContentComparator.compare(expected, actual);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compare " + expected + " with " + actual, e);
+        }
+        if (mismatch != null) {
+            throw new AssertionError(mismatch.describe("Files " + expected + " and " + actual));
+        }
+    }
+
+    /**
+     * Asserts that two streams have identical content. Both streams are read
+     * up to the first difference; they are not closed.
+     */
+    public static void assertContentEquals(InputStream expected, InputStream actual) {
+        ContentComparator.Mismatch mismatch;
+        try {
+            mismatch = ContentComparator.compare(expected, actual);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compare streams", e);
+        }
+        if (mismatch != null) {
+            throw new AssertionError(mismatch.describe("Streams"));
+        }
+    }
+
+    /**
+     * Asserts that the digest of a file, computed with the given algorithm
+     * (for example "SHA-256"), matches the expected hex string.
+     */
+    public static void assertFileMatchesChecksum(Path file, String algorithm, String expectedHex) {
+        String actualHex;
+        try {
+            actualHex = ContentComparator.checksum(file, MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unknown checksum algorithm: " + algorithm, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+        if (!actualHex.equalsIgnoreCase(expectedHex)) {
+            throw new AssertionError("Expected " + algorithm + " <" + expectedHex + "> but was <" + actualHex
+                + "> for " + file);
+        }
+    }
+
+    /**
+     * Asserts that the value matches the stored snapshot with the given id.
+     * The value is stored as the UTF-8 bytes of {@code String.valueOf(value)}, or as-is
+     * for a {@code byte[]}. A missing snapshot is recorded and the assertion passes.
+     */
+    public static void assertMatchesSnapshot(String id, Object value) {
+        if (value instanceof byte[]) {
+            assertMatchesSnapshot(id, (byte[]) value);
+            return;
+        }
+        assertMatchesSnapshot(id, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void assertMatchesSnapshot(String id, byte[] content) {
+        SnapshotStore.getDefault().assertMatches(id, content);
+    }
+
     public static void assertNotEquals(Object unexpected, Object actual) {
         if (unexpected == null && actual == null) {
             throw new AssertionError("Expected not equal, but both were null");
@@ -73,6 +323,49 @@ public final class Assert {
         throw new AssertionError("Expected " + expectedType.getName() + " to be thrown, but nothing was thrown");
     }
 
+    private static void checkArraysNotNull(Object expected, Object actual) {
+        if (expected == null) {
+            throw new AssertionError("Expected null array but was an array");
+        }
+        if (actual == null) {
+            throw new AssertionError("Expected an array but was null");
+        }
+    }
+
+    /**
+     * Builds a failure that shows only the elements around the first difference.
+     */
+    private static AssertionError arrayMismatch(int index, int expectedLength, int actualLength,
+                                                IntFunction<String> expected, IntFunction<String> actual) {
+        String lengths = expectedLength == actualLength
+            ? "length " + expectedLength
+            : "expected length " + expectedLength + " but was " + actualLength;
+        return new AssertionError("Arrays first differ at index " + index + " (" + lengths + ")"
+            + "\n  expected: " + formatWindow(index, expectedLength, expected)
+            + "\n  but was:  " + formatWindow(index, actualLength, actual));
+    }
+
+    private static String formatWindow(int index, int length, IntFunction<String> element) {
+        int from = Math.max(0, index - MISMATCH_WINDOW);
+        int to = Math.min(length, index + MISMATCH_WINDOW + 1);
+        StringBuilder out = new StringBuilder("[");
+        if (from > 0) {
+            out.append("..., ");
+        }
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.append(", ");
+            }
+            out.append(i == index ? ">" + element.apply(i) + "<" : element.apply(i));
+        }
+        if (index >= length) {
+            out.append(from < to ? ", " : "").append("><end><");
+        } else if (to < length) {
+            out.append(", ...");
+        }
+        return out.append("]").toString();
+    }
+
     /**
      * Functional interface for code that may throw an exception.
      */
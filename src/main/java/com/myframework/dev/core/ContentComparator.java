@@ -0,0 +1,193 @@
+package com.myframework.dev.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Compares large files and streams without loading them into memory.
+ * Files are compared through memory-mapped windows and streams through
+ * direct buffers, using {@link ByteBuffer#mismatch(ByteBuffer)} to find
+ * the first differing byte.
+ */
+final class ContentComparator {
+
+    private static final long MAP_WINDOW = 64L * 1024 * 1024;
+    private static final int STREAM_BUFFER = 1024 * 1024;
+
+    private ContentComparator() {
+        // utility class
+    }
+
+    /**
+     * Returns the first difference between two files, or null if they are identical.
+     */
+    static Mismatch compare(Path expected, Path actual) throws IOException {
+        try (FileChannel a = FileChannel.open(expected, StandardOpenOption.READ);
+             FileChannel b = FileChannel.open(actual, StandardOpenOption.READ)) {
+            long expectedSize = a.size();
+            long actualSize = b.size();
+            long common = Math.min(expectedSize, actualSize);
+            long offset = -1;
+            for (long position = 0; position < common && offset < 0; position += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, common - position);
+                MappedByteBuffer windowA = a.map(FileChannel.MapMode.READ_ONLY, position, length);
+                MappedByteBuffer windowB = b.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int index = windowA.mismatch(windowB);
+                if (index >= 0) {
+                    offset = position + index;
+                }
+            }
+            if (offset < 0) {
+                if (expectedSize == actualSize) {
+                    return null;
+                }
+                offset = common;
+            }
+
+            // Locate the line and column by counting newlines up to the difference
+            LineCounter counter = new LineCounter();
+            for (long position = 0; position < offset; position += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, offset - position);
+                counter.consume(a.map(FileChannel.MapMode.READ_ONLY, position, length), (int) length);
+            }
+            return new Mismatch(offset, counter.line, counter.column(offset),
+                byteAt(a, offset, expectedSize), byteAt(b, offset, actualSize));
+        }
+    }
+
+    /**
+     * Returns the first difference between two streams, or null if they have the same content.
+     * Both streams are read to the first difference but not closed.
+     */
+    static Mismatch compare(InputStream expected, InputStream actual) throws IOException {
+        ReadableByteChannel channelA = Channels.newChannel(expected);
+        ReadableByteChannel channelB = Channels.newChannel(actual);
+        ByteBuffer a = ByteBuffer.allocateDirect(STREAM_BUFFER);
+        ByteBuffer b = ByteBuffer.allocateDirect(STREAM_BUFFER);
+        LineCounter counter = new LineCounter();
+        long offset = 0;
+        while (true) {
+            fill(channelA, a);
+            fill(channelB, b);
+            a.flip();
+            b.flip();
+            int common = Math.min(a.remaining(), b.remaining());
+            int index = a.slice(0, common).mismatch(b.slice(0, common));
+            int matched = index >= 0 ? index : common;
+            counter.consume(a, matched);
+            if (index >= 0) {
+                return new Mismatch(offset + index, counter.line, counter.column(offset + index),
+                    a.get(index) & 0xFF, b.get(index) & 0xFF);
+            }
+            offset += common;
+            if (a.remaining() != b.remaining()) {
+                // One stream ended before the other
+                return new Mismatch(offset, counter.line, counter.column(offset),
+                    a.remaining() > common ? a.get(common) & 0xFF : -1,
+                    b.remaining() > common ? b.get(common) & 0xFF : -1);
+            }
+            if (common == 0) {
+                return null;
+            }
+            a.clear();
+            b.clear();
+        }
+    }
+
+    /**
+     * Computes the hex-encoded digest of a file with the given algorithm, e.g. "SHA-256".
+     */
+    static String checksum(Path file, MessageDigest digest) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte value : digest.digest()) {
+            hex.append(String.format("%02x", value));
+        }
+        return hex.toString();
+    }
+
+    private static void fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the stream ends
+        }
+    }
+
+    private static int byteAt(FileChannel channel, long offset, long size) throws IOException {
+        if (offset >= size) {
+            return -1;
+        }
+        ByteBuffer single = ByteBuffer.allocate(1);
+        channel.read(single, offset);
+        return single.get(0) & 0xFF;
+    }
+
+    /**
+     * Tracks the 1-based line number and the offset where the current line starts.
+     */
+    private static final class LineCounter {
+        long line = 1;
+        long lineStart = 0;
+        long consumed = 0;
+
+        void consume(ByteBuffer buffer, int length) {
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(i) == '\n') {
+                    line++;
+                    lineStart = consumed + i + 1;
+                }
+            }
+            consumed += length;
+        }
+
+        long column(long offset) {
+            return offset - lineStart + 1;
+        }
+    }
+
+    /**
+     * Position and values of the first differing byte. A byte value of -1 means end of content.
+     */
+    static final class Mismatch {
+        final long offset;
+        final long line;
+        final long column;
+        final int expectedByte;
+        final int actualByte;
+
+        Mismatch(long offset, long line, long column, int expectedByte, int actualByte) {
+            this.offset = offset;
+            this.line = line;
+            this.column = column;
+            this.expectedByte = expectedByte;
+            this.actualByte = actualByte;
+        }
+
+        String describe(String subject) {
+            return subject + " differ at byte offset " + offset + " (line " + line + ", column " + column + "): "
+                + "expected " + describeByte(expectedByte) + " but was " + describeByte(actualByte);
+        }
+
+        private static String describeByte(int value) {
+            if (value < 0) {
+                return "end of content";
+            }
+            String hex = String.format("0x%02x", value);
+            return value >= 0x20 && value < 0x7f ? hex + " '" + (char) value + "'" : hex;
+        }
+    }
+}
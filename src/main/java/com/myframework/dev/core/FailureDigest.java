@@ -0,0 +1,178 @@
+package com.myframework.dev.core;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Normalised form of a test failure.
+ * <p>
+ * The stack trace is compacted by dropping reflection and framework frames
+ * (the frames of {@code Method.invoke}, the executors and the assertions) and
+ * the thread and executor frames below the last test frame. The fingerprint is
+ * derived from the cause chain and, for each cause, the top frames down to the
+ * first frame outside the JDK. Failures thrown from the same place therefore
+ * share a fingerprint even if their messages or callers differ. A failure
+ * raised by the framework itself, such as a timeout, has no test frame; its
+ * frames are all omitted and its type and message make up the fingerprint.
+ */
+public final class FailureDigest {
+
+    private static final String[] FRAMEWORK_PREFIXES = {
+        "java.lang.reflect.", "jdk.internal.reflect.", "sun.reflect.",
+        "com.myframework.dev.core.", "com.myframework.dev.runner."
+    };
+    private static final int FINGERPRINT_FRAMES = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String fingerprint;
+    private final String type;
+    private final String message;
+    private final String location;
+    private final String frames;
+
+    private FailureDigest(String fingerprint, String type, String message, String location, String frames) {
+        this.fingerprint = fingerprint;
+        this.type = type;
+        this.message = message;
+        this.location = location;
+        this.frames = frames;
+    }
+
+    /**
+     * Recreates a digest from its recorded parts, for example when reading a run journal.
+     */
+    public static FailureDigest restore(String fingerprint, String type, String message, String location,
+                                        String frames) {
+        return new FailureDigest(fingerprint, type, message, location, frames);
+    }
+
+    /**
+     * Normalises the given failure.
+     */
+    public static FailureDigest of(Throwable failure) {
+        StringBuilder frames = new StringBuilder();
+        String location = null;
+        long hash = FNV_OFFSET;
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable t = failure; t != null && seen.add(t); t = t.getCause()) {
+            if (t != failure) {
+                frames.append("Caused by: ").append(t).append('\n');
+            }
+            StackTraceElement[] trace = t.getStackTrace();
+            int end = lastTestFrame(trace);
+            int kept = 0;
+            boolean located = false;
+            int omitted = trace.length - end - 1;
+            hash = hash(hash, t.getClass().getName());
+            for (int i = 0; i <= end; i++) {
+                if (isFrameworkFrame(trace[i])) {
+                    omitted++;
+                    continue;
+                }
+                if (location == null) {
+                    location = trace[i].toString();
+                }
+                if (!located && kept++ < FINGERPRINT_FRAMES) {
+                    hash = hash(hash, trace[i].toString());
+                    located = !isJdkFrame(trace[i]);
+                }
+                frames.append("\tat ").append(trace[i]).append('\n');
+            }
+            if (kept == 0) {
+                // No test frame identifies where the failure came from, fall back to the message
+                hash = hash(hash, String.valueOf(t.getMessage()));
+            }
+            if (omitted > 0) {
+                frames.append("\t... ").append(omitted).append(" framework frames omitted\n");
+            }
+        }
+        return new FailureDigest(String.format("%016x", hash), failure.getClass().getName(),
+                failure.getMessage(), location, frames.toString());
+    }
+
+    /**
+     * Returns the index of the last frame outside the JDK and the framework, or -1 if there is none.
+     */
+    private static int lastTestFrame(StackTraceElement[] trace) {
+        for (int i = trace.length - 1; i >= 0; i--) {
+            if (!isFrameworkFrame(trace[i]) && !isJdkFrame(trace[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isJdkFrame(StackTraceElement frame) {
+        return frame.getClassName().startsWith("java.") || frame.getClassName().startsWith("jdk.");
+    }
+
+    private static boolean isFrameworkFrame(StackTraceElement frame) {
+        for (String prefix : FRAMEWORK_PREFIXES) {
+            if (frame.getClassName().startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ '\n') * FNV_PRIME;
+    }
+
+    /**
+     * Returns a 16 digit hex string identifying the failure cause.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the topmost non-framework frame, or null if every frame was dropped.
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the compacted frames of the failure and its causes, without the
+     * leading "type: message" line.
+     */
+    public String getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the compacted stack trace in the format of {@link Throwable#printStackTrace()}.
+     */
+    public String getTrace() {
+        return formatTrace(type, message, frames);
+    }
+
+    /**
+     * Returns the type and message, like {@link Throwable#toString()}.
+     */
+    @Override
+    public String toString() {
+        return type + (message != null ? ": " + message : "");
+    }
+
+    /**
+     * Formats a compacted stack trace from its parts.
+     */
+    public static String formatTrace(String type, String message, String frames) {
+        return type + (message != null ? ": " + message : "") + "\n" + frames;
+    }
+}
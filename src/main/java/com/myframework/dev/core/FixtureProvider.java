@@ -0,0 +1,25 @@
+package com.myframework.dev.core;
+
+/**
+ * Creates a fixture shared by test classes through
+ * {@link com.myframework.dev.annotations.SharedFixture}.
+ *
+ * @param <T> the fixture type
+ */
+public interface FixtureProvider<T> {
+
+    /**
+     * Creates the fixture. Called at most once per run.
+     */
+    T create() throws Exception;
+
+    /**
+     * Releases the fixture at the end of the run. By default fixtures that
+     * implement {@link AutoCloseable} are closed.
+     */
+    default void close(T fixture) throws Exception {
+        if (fixture instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
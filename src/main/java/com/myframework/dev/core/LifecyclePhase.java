@@ -0,0 +1,23 @@
+package com.myframework.dev.core;
+
+/**
+ * The phases a test goes through, in execution order.
+ */
+public enum LifecyclePhase {
+    BEFORE_ALL("@BeforeAll"),
+    CREATE_INSTANCE("constructor"),
+    BEFORE_EACH("@BeforeEach"),
+    TEST("@Test"),
+    AFTER_EACH("@AfterEach"),
+    AFTER_ALL("@AfterAll");
+
+    private final String displayName;
+
+    LifecyclePhase(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
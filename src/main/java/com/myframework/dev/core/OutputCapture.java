@@ -0,0 +1,353 @@
+package com.myframework.dev.core;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Captures what tests write to {@code System.out} and {@code System.err}.
+ * <p>
+ * {@link #install(int)} replaces both streams with routing streams. While a
+ * test executes, its thread and every thread it starts write into a bounded
+ * ring buffer that belongs to that test; each test has its own buffer and
+ * lock, so tests running in parallel do not contend on the console. Writes
+ * from threads that do not belong to a test, such as {@code @BeforeAll}
+ * methods and the reporters, go to the console as before. When a buffer is
+ * full, the oldest output is dropped.
+ */
+public final class OutputCapture {
+
+    private static final InheritableThreadLocal<Capture> CURRENT = new InheritableThreadLocal<>();
+    private static PrintStream originalOut;
+    private static PrintStream originalErr;
+    private static int capacity;
+
+    private OutputCapture() {
+    }
+
+    /**
+     * Routes {@code System.out} and {@code System.err} through the capture, keeping
+     * at most {@code bytesPerStream} bytes of each stream per test.
+     */
+    public static synchronized void install(int bytesPerStream) {
+        if (originalOut != null) {
+            return;
+        }
+        capacity = bytesPerStream;
+        originalOut = System.out;
+        originalErr = System.err;
+        System.setOut(new RoutingPrintStream(originalOut, false));
+        System.setErr(new RoutingPrintStream(originalErr, true));
+    }
+
+    /**
+     * Restores the original streams.
+     */
+    public static synchronized void uninstall() {
+        if (originalOut == null) {
+            return;
+        }
+        System.out.flush();
+        System.err.flush();
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+        originalOut = null;
+        originalErr = null;
+    }
+
+    public static synchronized boolean isInstalled() {
+        return originalOut != null;
+    }
+
+    /**
+     * Starts capturing for the test running on the current thread.
+     *
+     * @return the capture, or null if output capture is not installed
+     */
+    static Capture begin() {
+        int size;
+        synchronized (OutputCapture.class) {
+            if (originalOut == null) {
+                return null;
+            }
+            size = capacity;
+        }
+        Capture capture = new Capture(size);
+        CURRENT.set(capture);
+        return capture;
+    }
+
+    /**
+     * Output captured for one test.
+     */
+    static final class Capture {
+        private final RingBuffer out;
+        private final RingBuffer err;
+        private final PrintStream outStream;
+        private final PrintStream errStream;
+        private volatile boolean ended;
+
+        private Capture(int capacity) {
+            out = new RingBuffer(capacity);
+            err = new RingBuffer(capacity);
+            outStream = new PrintStream(out, true, Charset.defaultCharset());
+            errStream = new PrintStream(err, true, Charset.defaultCharset());
+        }
+
+        /**
+         * Stops capturing. Threads the test left running write to the console from now on.
+         */
+        void end() {
+            ended = true;
+            CURRENT.remove();
+            outStream.flush();
+            errStream.flush();
+        }
+
+        String getOut() {
+            return out.contents();
+        }
+
+        String getErr() {
+            return err.contents();
+        }
+
+        boolean isEmpty() {
+            return out.isEmpty() && err.isEmpty();
+        }
+    }
+
+    /**
+     * Keeps the last {@code capacity} bytes written to it.
+     */
+    private static final class RingBuffer extends OutputStream {
+        private final byte[] data;
+        private long written;
+
+        RingBuffer(int capacity) {
+            data = new byte[Math.max(capacity, 1)];
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            data[(int) (written++ % data.length)] = (byte) b;
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) {
+            if (length >= data.length) {
+                offset += length - data.length;
+                written += length - data.length;
+                length = data.length;
+            }
+            int start = (int) (written % data.length);
+            int first = Math.min(length, data.length - start);
+            System.arraycopy(bytes, offset, data, start, first);
+            System.arraycopy(bytes, offset + first, data, 0, length - first);
+            written += length;
+        }
+
+        synchronized boolean isEmpty() {
+            return written == 0;
+        }
+
+        synchronized String contents() {
+            if (written <= data.length) {
+                return new String(data, 0, (int) written, Charset.defaultCharset());
+            }
+            int start = (int) (written % data.length);
+            byte[] ordered = new byte[data.length];
+            System.arraycopy(data, start, ordered, 0, data.length - start);
+            System.arraycopy(data, 0, ordered, data.length - start, start);
+            return "[... " + (written - data.length) + " bytes dropped ...]" + System.lineSeparator()
+                    + new String(ordered, Charset.defaultCharset());
+        }
+    }
+
+    /**
+     * Sends every call to the current test's stream, or to the console if the
+     * calling thread does not belong to a running test. It never takes a lock
+     * of its own.
+     */
+    private static final class RoutingPrintStream extends PrintStream {
+        private final PrintStream console;
+        private final boolean error;
+
+        RoutingPrintStream(PrintStream console, boolean error) {
+            super(console, true);
+            this.console = console;
+            this.error = error;
+        }
+
+        private PrintStream target() {
+            Capture capture = CURRENT.get();
+            if (capture == null || capture.ended) {
+                return console;
+            }
+            return error ? capture.errStream : capture.outStream;
+        }
+
+        @Override
+        public void write(int b) {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) {
+            target().write(buf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            target().flush();
+        }
+
+        @Override
+        public void close() {
+            target().close();
+        }
+
+        @Override
+        public boolean checkError() {
+            return target().checkError();
+        }
+
+        @Override
+        public void print(boolean b) {
+            target().print(b);
+        }
+
+        @Override
+        public void print(char c) {
+            target().print(c);
+        }
+
+        @Override
+        public void print(int i) {
+            target().print(i);
+        }
+
+        @Override
+        public void print(long l) {
+            target().print(l);
+        }
+
+        @Override
+        public void print(float f) {
+            target().print(f);
+        }
+
+        @Override
+        public void print(double d) {
+            target().print(d);
+        }
+
+        @Override
+        public void print(char[] s) {
+            target().print(s);
+        }
+
+        @Override
+        public void print(String s) {
+            target().print(s);
+        }
+
+        @Override
+        public void print(Object obj) {
+            target().print(obj);
+        }
+
+        @Override
+        public void println() {
+            target().println();
+        }
+
+        @Override
+        public void println(boolean x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(char x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(int x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(long x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(float x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(double x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(char[] x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(String x) {
+            target().println(x);
+        }
+
+        @Override
+        public void println(Object x) {
+            target().println(x);
+        }
+
+        @Override
+        public PrintStream printf(String format, Object... args) {
+            target().printf(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream printf(Locale l, String format, Object... args) {
+            target().printf(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(String format, Object... args) {
+            target().format(format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream format(Locale l, String format, Object... args) {
+            target().format(l, format, args);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq) {
+            target().append(csq);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(CharSequence csq, int start, int end) {
+            target().append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public PrintStream append(char c) {
+            target().append(c);
+            return this;
+        }
+    }
+}
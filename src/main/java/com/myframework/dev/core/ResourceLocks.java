@@ -0,0 +1,80 @@
+package com.myframework.dev.core;
+
+import com.myframework.dev.annotations.UsesResource;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read/write locks on the named resources declared with {@link UsesResource}.
+ * Tests that only read a resource share its lock; a test that writes it runs
+ * alone. Locks are always taken in resource name order, so two tests that
+ * use the same resources cannot deadlock each other.
+ */
+public final class ResourceLocks {
+
+    private final Map<String, ReentrantReadWriteLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the resources declared on the given elements, sorted by name. A
+     * resource declared more than once is written if any declaration writes it.
+     */
+    public static SortedMap<String, UsesResource.Mode> declaredBy(AnnotatedElement... elements) {
+        SortedMap<String, UsesResource.Mode> resources = new TreeMap<>();
+        for (AnnotatedElement element : elements) {
+            for (UsesResource resource : element.getAnnotationsByType(UsesResource.class)) {
+                resources.merge(resource.value(), resource.mode(),
+                    (a, b) -> a == UsesResource.Mode.WRITE ? a : b);
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Blocks until all of the given resources are locked in their modes.
+     *
+     * @param resources resources sorted by name, as returned by {@link #declaredBy}
+     * @return a lease that unlocks them again
+     */
+    public Lease acquire(SortedMap<String, UsesResource.Mode> resources) {
+        if (resources.isEmpty()) {
+            return Lease.NONE;
+        }
+        List<Lock> held = new ArrayList<>(resources.size());
+        for (Map.Entry<String, UsesResource.Mode> resource : resources.entrySet()) {
+            ReentrantReadWriteLock lock = locks.computeIfAbsent(resource.getKey(), name -> new ReentrantReadWriteLock(true));
+            Lock side = resource.getValue() == UsesResource.Mode.WRITE ? lock.writeLock() : lock.readLock();
+            side.lock();
+            held.add(side);
+        }
+        return new Lease(held);
+    }
+
+    /**
+     * Locks held for one test or lifecycle phase.
+     */
+    public static final class Lease implements AutoCloseable {
+        static final Lease NONE = new Lease(Collections.emptyList());
+
+        private final List<Lock> held;
+
+        private Lease(List<Lock> held) {
+            this.held = held;
+        }
+
+        @Override
+        public void close() {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.myframework.dev.core;
+
+import com.myframework.dev.annotations.SharedFixture;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixtures shared by test classes through {@link SharedFixture}. Each
+ * provider is instantiated and asked for its fixture once; the fixture is
+ * handed to every class that declares it and closed by {@link #closeAll()}
+ * at the end of the run, in reverse order of creation.
+ */
+public final class SharedFixtures {
+
+    private static volatile SharedFixtures defaultFixtures = new SharedFixtures();
+
+    private final Map<Class<?>, Holder> holders = new ConcurrentHashMap<>();
+    // A ClassValue does not keep the test classes, and so their class loaders, reachable
+    private final ClassValue<List<Field>> fieldsByClass = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> testClass) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(SharedFixture.class)) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+    private final List<Holder> created = Collections.synchronizedList(new ArrayList<>());
+
+    public static SharedFixtures getDefault() {
+        return defaultFixtures;
+    }
+
+    public static void setDefault(SharedFixtures fixtures) {
+        defaultFixtures = fixtures;
+    }
+
+    /**
+     * Returns the fixture of the given provider, creating it on first use.
+     * Fixtures of different providers can be created concurrently.
+     */
+    public Object get(Class<? extends FixtureProvider<?>> providerClass) throws Exception {
+        return holders.computeIfAbsent(providerClass, Holder::new).get();
+    }
+
+    /**
+     * Sets the static {@code @SharedFixture} fields of a test class.
+     */
+    public void injectStatic(Class<?> testClass) throws Exception {
+        inject(testClass, null);
+    }
+
+    /**
+     * Sets the instance {@code @SharedFixture} fields of a test instance.
+     */
+    public void injectInstance(Object instance) throws Exception {
+        inject(instance.getClass(), instance);
+    }
+
+    private void inject(Class<?> testClass, Object instance) throws Exception {
+        for (Field field : fieldsByClass.get(testClass)) {
+            if (Modifier.isStatic(field.getModifiers()) != (instance == null)) {
+                continue;
+            }
+            Class<? extends FixtureProvider<?>> providerClass = field.getAnnotation(SharedFixture.class).value();
+            Object fixture = get(providerClass);
+            if (fixture != null && !field.getType().isInstance(fixture)) {
+                throw new IllegalStateException("Shared fixture from " + providerClass.getName() + " is a "
+                    + fixture.getClass().getName() + " and cannot be assigned to field " + field.getName());
+            }
+            field.set(instance, fixture);
+        }
+    }
+
+    /**
+     * Closes every fixture created so far, newest first, and forgets them so
+     * that a following run creates new ones.
+     */
+    public void closeAll() {
+        List<Holder> toClose;
+        synchronized (created) {
+            toClose = new ArrayList<>(created);
+            created.clear();
+        }
+        holders.clear();
+        Collections.reverse(toClose);
+        for (Holder holder : toClose) {
+            holder.close();
+        }
+    }
+
+    /**
+     * Creates the fixture of one provider exactly once, without holding a map
+     * lock so that a provider may itself use other shared fixtures.
+     */
+    private final class Holder {
+        private final Class<?> providerClass;
+        private FixtureProvider<Object> provider;
+        private Object fixture;
+        private Exception failure;
+        private boolean done;
+
+        Holder(Class<?> providerClass) {
+            this.providerClass = providerClass;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized Object get() throws Exception {
+            if (!done) {
+                done = true;
+                try {
+                    provider = (FixtureProvider<Object>) providerClass.getDeclaredConstructor().newInstance();
+                    fixture = provider.create();
+                    created.add(this);
+                } catch (Exception e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Failed to create shared fixture " + providerClass.getName()
+                    + ": " + failure, failure);
+            }
+            return fixture;
+        }
+
+        synchronized void close() {
+            try {
+                provider.close(fixture);
+            } catch (Exception e) {
+                System.err.println("Failed to close shared fixture " + providerClass.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.myframework.dev.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for snapshot (approval) tests.
+ * <p>
+ * Snapshot contents live in {@code objects/<2 hex>/<62 hex>}, named by their SHA-256.
+ * Each snapshot id has a ref file in {@code refs/<2 hex>/<62 hex>}, named by the SHA-256
+ * of the id, holding the content hash and the id. Looking up a snapshot therefore
+ * reads one small file at a computed path and never lists a directory; identical
+ * snapshots share one object.
+ */
+public class SnapshotStore {
+
+    private static volatile SnapshotStore defaultStore = new SnapshotStore(Paths.get("snapshots"), false);
+
+    private final Path root;
+    private final boolean update;
+    private final Set<String> touchedRefs = ConcurrentHashMap.newKeySet();
+
+    public SnapshotStore(Path root, boolean update) {
+        this.root = root;
+        this.update = update;
+    }
+
+    /**
+     * Returns the store used by {@link Assert#assertMatchesSnapshot(String, Object)}.
+     */
+    public static SnapshotStore getDefault() {
+        return defaultStore;
+    }
+
+    public static void setDefault(SnapshotStore store) {
+        defaultStore = store;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public boolean isUpdate() {
+        return update;
+    }
+
+    /**
+     * Compares the content with the stored snapshot for the id. A missing snapshot
+     * is recorded and passes; a different snapshot is replaced in update mode and
+     * fails otherwise, reporting the first differing byte.
+     */
+    public void assertMatches(String id, byte[] content) {
+        String refHash = sha256(id.getBytes(StandardCharsets.UTF_8));
+        String contentHash = sha256(content);
+        touchedRefs.add(refHash);
+        try {
+            String storedHash = readRef(refHash);
+            if (contentHash.equals(storedHash)) {
+                return;
+            }
+            if (storedHash == null || update) {
+                writeObject(contentHash, content);
+                writeRef(refHash, contentHash, id);
+                return;
+            }
+
+            ContentComparator.Mismatch mismatch;
+            try (InputStream stored = Files.newInputStream(objectPath(storedHash))) {
+                mismatch = ContentComparator.compare(stored, new ByteArrayInputStream(content));
+            }
+            String detail = mismatch != null ? mismatch.describe("Contents") : "Contents have different hashes";
+            throw new AssertionError("Snapshot '" + id + "' does not match: " + detail
+                + "\nRun with --update-snapshots to accept the new content.");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to access snapshot '" + id + "' in " + root, e);
+        }
+    }
+
+    /**
+     * Deletes objects that no ref points to. If {@code removeUntouchedRefs} is true, refs
+     * that were not asserted since this store was created are deleted first, so only run
+     * this after a complete run. Returns the number of files deleted.
+     */
+    public int pruneOrphans(boolean removeUntouchedRefs) throws IOException {
+        int deleted = 0;
+        Set<String> liveObjects = new HashSet<>();
+        for (Path ref : listFiles(root.resolve("refs"))) {
+            String refHash = ref.getParent().getFileName().toString() + ref.getFileName();
+            if (removeUntouchedRefs && !touchedRefs.contains(refHash)) {
+                Files.deleteIfExists(ref);
+                deleted++;
+                continue;
+            }
+            liveObjects.add(Files.readAllLines(ref, StandardCharsets.UTF_8).get(0));
+        }
+        for (Path object : listFiles(root.resolve("objects"))) {
+            String objectHash = object.getParent().getFileName().toString() + object.getFileName();
+            if (!liveObjects.contains(objectHash)) {
+                Files.deleteIfExists(object);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private String readRef(String refHash) throws IOException {
+        try {
+            List<String> lines = Files.readAllLines(refPath(refHash), StandardCharsets.UTF_8);
+            return lines.isEmpty() ? null : lines.get(0);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void writeRef(String refHash, String contentHash, String id) throws IOException {
+        writeAtomically(refPath(refHash), (contentHash + "\n" + id + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeObject(String contentHash, byte[] content) throws IOException {
+        Path object = objectPath(contentHash);
+        if (!Files.exists(object)) {
+            writeAtomically(object, content);
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".snapshot", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path refPath(String refHash) {
+        return root.resolve("refs").resolve(refHash.substring(0, 2)).resolve(refHash.substring(2));
+    }
+
+    private Path objectPath(String contentHash) {
+        return root.resolve("objects").resolve(contentHash.substring(0, 2)).resolve(contentHash.substring(2));
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            return files.filter(Files::isRegularFile)
+                        .filter(p -> !p.getFileName().toString().startsWith("."))
+                        .collect(Collectors.toList());
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte value : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.myframework.dev.core;
+
+import com.myframework.dev.annotations.Tag;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compiled {@code --select} expression over {@link Tag tags}, for example
+ * {@code fast & !db | smoke}. {@code !} binds tighter than {@code &}, which
+ * binds tighter than {@code |}; parentheses group.
+ * <p>
+ * Every tag name is given a bit number once per JVM, and each test case keeps
+ * its tags as a bit set, so matching a test is a few bit tests with no string
+ * comparisons.
+ */
+public final class TagSelection {
+
+    private static final Map<String, Integer> BITS = new HashMap<>();
+
+    private final String expression;
+    private final Node root;
+
+    private TagSelection(String expression, Node root) {
+        this.expression = expression;
+        this.root = root;
+    }
+
+    /**
+     * Compiles a selection expression.
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static TagSelection compile(String expression) {
+        Parser parser = new Parser(expression);
+        Node root = parser.parseOr();
+        parser.skipSpaces();
+        if (parser.pos < expression.length()) {
+            throw parser.error("unexpected '" + expression.charAt(parser.pos) + "'");
+        }
+        return new TagSelection(expression, root);
+    }
+
+    /**
+     * Returns the tags declared on the given elements as a bit set.
+     */
+    static BitSet tagsOf(AnnotatedElement... elements) {
+        BitSet tags = new BitSet();
+        for (AnnotatedElement element : elements) {
+            for (Tag tag : element.getAnnotationsByType(Tag.class)) {
+                tags.set(bit(tag.value()));
+            }
+        }
+        return tags;
+    }
+
+    private static synchronized int bit(String tag) {
+        Integer bit = BITS.get(tag);
+        if (bit == null) {
+            bit = BITS.size();
+            BITS.put(tag, bit);
+        }
+        return bit;
+    }
+
+    public boolean matches(TestCase testCase) {
+        return root.matches(testCase.getTagBits());
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private interface Node {
+        boolean matches(BitSet tags);
+    }
+
+    /**
+     * Recursive-descent parser producing the predicate tree.
+     */
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Node parseOr() {
+            Node left = parseAnd();
+            while (accept('|')) {
+                Node l = left;
+                Node r = parseAnd();
+                left = tags -> l.matches(tags) || r.matches(tags);
+            }
+            return left;
+        }
+
+        Node parseAnd() {
+            Node left = parseUnary();
+            while (accept('&')) {
+                Node l = left;
+                Node r = parseUnary();
+                left = tags -> l.matches(tags) && r.matches(tags);
+            }
+            return left;
+        }
+
+        Node parseUnary() {
+            if (accept('!')) {
+                Node operand = parseUnary();
+                return tags -> !operand.matches(tags);
+            }
+            if (accept('(')) {
+                Node inner = parseOr();
+                if (!accept(')')) {
+                    throw error("missing ')'");
+                }
+                return inner;
+            }
+            skipSpaces();
+            int start = pos;
+            while (pos < text.length() && isTagChar(text.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error(pos < text.length() ? "unexpected '" + text.charAt(pos) + "'" : "unexpected end");
+            }
+            int bit = bit(text.substring(start, pos));
+            return tags -> tags.get(bit);
+        }
+
+        boolean accept(char c) {
+            skipSpaces();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in \"" + text + "\"");
+        }
+
+        private static boolean isTagChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':';
+        }
+    }
+}
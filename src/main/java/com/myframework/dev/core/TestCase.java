@@ -1,7 +1,11 @@
 package com.myframework.dev.core;
 
+import com.myframework.dev.annotations.UsesResource;
+
 import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.List;
+import java.util.SortedMap;
 
 /**
  * Represents a single test case with its configuration and lifecycle methods.
@@ -18,6 +22,17 @@ public class TestCase {
     private final long timeout;
     private final boolean disabled;
     private final String disabledReason;
+    private final int stressThreads;
+    private final int stressIterations;
+    private final long stressSeed;
+    private final int loadRatePerSecond;
+    private final long loadDurationMillis;
+    private final int loadConcurrency;
+    private final double loadMaxP99Millis;
+    private final boolean perClassInstance;
+    private final SortedMap<String, UsesResource.Mode> resources;
+    private final List<String> dependencies;
+    private final BitSet tagBits;
 
     public TestCase(Class<?> testClass,
                     Method testMethod,
@@ -28,7 +43,18 @@ public class TestCase {
                     Class<? extends Throwable> expectedException,
                     long timeout,
                     boolean disabled,
-                    String disabledReason) {
+                    String disabledReason,
+                    int stressThreads,
+                    int stressIterations,
+                    long stressSeed,
+                    int loadRatePerSecond,
+                    long loadDurationMillis,
+                    int loadConcurrency,
+                    double loadMaxP99Millis,
+                    boolean perClassInstance,
+                    SortedMap<String, UsesResource.Mode> resources,
+                    List<String> dependencies,
+                    BitSet tagBits) {
         this.testClass = testClass;
         this.testMethod = testMethod;
         this.beforeEachMethods = beforeEachMethods;
@@ -39,6 +65,25 @@ public class TestCase {
         this.timeout = timeout;
         this.disabled = disabled;
         this.disabledReason = disabledReason;
+        this.stressThreads = stressThreads;
+        this.stressIterations = stressIterations;
+        this.stressSeed = stressSeed;
+        this.loadRatePerSecond = loadRatePerSecond;
+        this.loadDurationMillis = loadDurationMillis;
+        this.loadConcurrency = loadConcurrency;
+        this.loadMaxP99Millis = loadMaxP99Millis;
+        this.perClassInstance = perClassInstance;
+        this.resources = resources;
+        this.dependencies = dependencies;
+        this.tagBits = tagBits;
+    }
+
+    /**
+     * Returns an identifier that is unique within a run and stable across runs:
+     * the fully qualified class name and the method name, e.g. {@code com.example.MyTest#testAdd}.
+     */
+    public String getId() {
+        return testClass.getName() + "#" + testMethod.getName();
     }
 
     public Class<?> getTestClass() {
@@ -80,4 +125,77 @@ public class TestCase {
     public String getDisabledReason() {
         return disabledReason;
     }
+
+    /**
+     * Returns true if the test is annotated with {@code @ConcurrentStress}.
+     */
+    public boolean isConcurrentStress() {
+        return stressThreads > 0;
+    }
+
+    public int getStressThreads() {
+        return stressThreads;
+    }
+
+    public int getStressIterations() {
+        return stressIterations;
+    }
+
+    public long getStressSeed() {
+        return stressSeed;
+    }
+
+    /**
+     * Returns true if the test is annotated with {@code @LoadTest}.
+     */
+    public boolean isLoadTest() {
+        return loadRatePerSecond > 0;
+    }
+
+    public int getLoadRatePerSecond() {
+        return loadRatePerSecond;
+    }
+
+    public long getLoadDurationMillis() {
+        return loadDurationMillis;
+    }
+
+    public int getLoadConcurrency() {
+        return loadConcurrency;
+    }
+
+    public double getLoadMaxP99Millis() {
+        return loadMaxP99Millis;
+    }
+
+    /**
+     * Returns true if all tests of the class share one instance, see
+     * {@link com.myframework.dev.annotations.TestInstance}.
+     */
+    public boolean isPerClassInstance() {
+        return perClassInstance;
+    }
+
+    /**
+     * Returns the resources the test uses, declared with {@code @UsesResource} on
+     * the test method or its class, sorted by name.
+     */
+    public SortedMap<String, UsesResource.Mode> getResources() {
+        return resources;
+    }
+
+    /**
+     * Returns the names of the test methods of the same class that this test
+     * depends on, declared with {@code @DependsOn}.
+     */
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Returns the {@code @Tag}s of the test and its class as bits numbered by {@link TagSelection}.
+     */
+    BitSet getTagBits() {
+        return tagBits;
+    }
 }
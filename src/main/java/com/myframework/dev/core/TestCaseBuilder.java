@@ -1,8 +1,13 @@
 package com.myframework.dev.core;
 
+import com.myframework.dev.annotations.UsesResource;
+
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Builder for creating TestCase instances.
@@ -19,6 +24,17 @@ public class TestCaseBuilder {
     private long timeout = 0;
     private boolean disabled = false;
     private String disabledReason = "";
+    private int stressThreads = 0;
+    private int stressIterations = 0;
+    private long stressSeed = 0;
+    private int loadRatePerSecond = 0;
+    private long loadDurationMillis = 0;
+    private int loadConcurrency = 0;
+    private double loadMaxP99Millis = 0;
+    private boolean perClassInstance = false;
+    private SortedMap<String, UsesResource.Mode> resources = new TreeMap<>();
+    private List<String> dependencies = new ArrayList<>();
+    private BitSet tagBits = new BitSet();
 
     public TestCaseBuilder testClass(Class<?> testClass) {
         this.testClass = testClass;
@@ -70,11 +86,48 @@ public class TestCaseBuilder {
         return this;
     }
 
+    public TestCaseBuilder concurrentStress(int threads, int iterations, long seed) {
+        this.stressThreads = threads;
+        this.stressIterations = iterations;
+        this.stressSeed = seed;
+        return this;
+    }
+
+    public TestCaseBuilder loadTest(int ratePerSecond, long durationMillis, int concurrency, double maxP99Millis) {
+        this.loadRatePerSecond = ratePerSecond;
+        this.loadDurationMillis = durationMillis;
+        this.loadConcurrency = concurrency;
+        this.loadMaxP99Millis = maxP99Millis;
+        return this;
+    }
+
+    public TestCaseBuilder perClassInstance(boolean perClassInstance) {
+        this.perClassInstance = perClassInstance;
+        return this;
+    }
+
+    public TestCaseBuilder resources(SortedMap<String, UsesResource.Mode> resources) {
+        this.resources = resources != null ? resources : new TreeMap<>();
+        return this;
+    }
+
+    public TestCaseBuilder dependencies(List<String> dependencies) {
+        this.dependencies = dependencies != null ? dependencies : new ArrayList<>();
+        return this;
+    }
+
+    public TestCaseBuilder tagBits(BitSet tagBits) {
+        this.tagBits = tagBits != null ? tagBits : new BitSet();
+        return this;
+    }
+
     public TestCase build() {
         return new TestCase(
             testClass, testMethod, beforeEachMethods, afterEachMethods,
             beforeAllMethods, afterAllMethods, expectedException, timeout,
-            disabled, disabledReason
+            disabled, disabledReason, stressThreads, stressIterations, stressSeed,
+            loadRatePerSecond, loadDurationMillis, loadConcurrency, loadMaxP99Millis,
+            perClassInstance, resources, dependencies, tagBits
         );
     }
 }
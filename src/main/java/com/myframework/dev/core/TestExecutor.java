@@ -11,4 +11,18 @@ public interface TestExecutor {
      * Executes a test case and returns the result.
      */
     TestResult execute(TestCase testCase, TestReporter reporter);
+
+    /**
+     * Returns the instance shared by all tests of a {@code @TestInstance(PER_CLASS)} class,
+     * creating it on first use, or null if the test case gets a new instance per method.
+     */
+    default Object getClassInstance(TestCase testCase) throws Exception {
+        return null;
+    }
+
+    /**
+     * Discards the shared instance of a class after all of its tests and {@code @AfterAll} have run.
+     */
+    default void releaseClassInstance(Class<?> testClass) {
+    }
 }
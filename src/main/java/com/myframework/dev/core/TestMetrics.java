@@ -0,0 +1,168 @@
+package com.myframework.dev.core;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resource usage of a single test execution.
+ * CPU time and allocated bytes are measured on the thread that runs the test
+ * and, for {@code @ConcurrentStress} and {@code @LoadTest}, summed over the
+ * threads that invoke it; GC count and time are JVM-wide deltas over the same period.
+ * A value of -1 means the JVM does not support that measurement.
+ */
+public class TestMetrics {
+
+    private final long cpuTimeNanos;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+
+    public TestMetrics(long cpuTimeNanos, long allocatedBytes, long gcCount, long gcTimeMillis) {
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+    }
+
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    public long getCpuTimeMillis() {
+        return cpuTimeNanos < 0 ? -1 : cpuTimeNanos / 1_000_000;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    /**
+     * Formats a byte count with a binary unit, e.g. "1.5 MB".
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        return String.format("%.1f %sB", bytes / (double) (1L << (unit * 10)), " KMGTPE".charAt(unit));
+    }
+
+    /**
+     * Starts measuring on the current thread. Call {@link Sampler#stop()} on the same thread.
+     */
+    static Sampler start() {
+        return new Sampler();
+    }
+
+    /**
+     * Captures the counters at the start of a test and computes the deltas at the end.
+     */
+    static final class Sampler {
+
+        private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+        private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+        private static final boolean ALLOCATION_SUPPORTED = enableAllocation();
+
+        private final long threadId = Thread.currentThread().getId();
+        private final long cpuTime;
+        private final long allocated;
+        private final long gcCount;
+        private final long gcTime;
+        private final LongAdder otherThreadsCpuTime = new LongAdder();
+        private final LongAdder otherThreadsAllocated = new LongAdder();
+
+        private Sampler() {
+            cpuTime = CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+            allocated = ALLOCATION_SUPPORTED
+                ? ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(threadId) : -1;
+            long[] gc = readGc();
+            gcCount = gc[0];
+            gcTime = gc[1];
+        }
+
+        /**
+         * Starts measuring another thread that works for the same test. Call
+         * {@link ThreadSample#stop()} on that thread before {@link #stop()}.
+         */
+        ThreadSample startThread() {
+            return new ThreadSample();
+        }
+
+        TestMetrics stop() {
+            long cpuDelta = CPU_TIME_SUPPORTED
+                ? THREAD_BEAN.getCurrentThreadCpuTime() - cpuTime + otherThreadsCpuTime.sum() : -1;
+            long allocatedDelta = ALLOCATION_SUPPORTED
+                ? ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(threadId) - allocated
+                    + otherThreadsAllocated.sum() : -1;
+            long[] gc = readGc();
+            return new TestMetrics(cpuDelta, allocatedDelta, gc[0] - gcCount, gc[1] - gcTime);
+        }
+
+        /**
+         * CPU time and allocation of one additional thread, added to the sampler when stopped.
+         */
+        final class ThreadSample {
+            private final long threadCpuTime = CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+            private final long threadAllocated = ALLOCATION_SUPPORTED
+                ? ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+
+            void stop() {
+                if (CPU_TIME_SUPPORTED) {
+                    otherThreadsCpuTime.add(THREAD_BEAN.getCurrentThreadCpuTime() - threadCpuTime);
+                }
+                if (ALLOCATION_SUPPORTED) {
+                    otherThreadsAllocated.add(((com.sun.management.ThreadMXBean) THREAD_BEAN)
+                        .getThreadAllocatedBytes(Thread.currentThread().getId()) - threadAllocated);
+                }
+            }
+        }
+
+        private static long[] readGc() {
+            long count = 0;
+            long time = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(gc.getCollectionCount(), 0);
+                time += Math.max(gc.getCollectionTime(), 0);
+            }
+            return new long[] {count, time};
+        }
+
+        private static boolean enableCpuTime() {
+            if (!THREAD_BEAN.isCurrentThreadCpuTimeSupported()) {
+                return false;
+            }
+            if (!THREAD_BEAN.isThreadCpuTimeEnabled()) {
+                THREAD_BEAN.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        }
+
+        private static boolean enableAllocation() {
+            if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) {
+                return false;
+            }
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+            if (!bean.isThreadAllocatedMemorySupported()) {
+                return false;
+            }
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return true;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.myframework.dev.core;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Represents the result of a test execution.
  */
@@ -13,17 +17,36 @@ public class TestResult {
     }
 
     private final String testName;
+    private final String testId;
     private final Status status;
     private final Throwable failureCause;
     private final long executionTimeMillis;
     private final String skipReason;
+    private final Map<String, String> properties;
+    private final TestMetrics metrics;
+    private final String systemOut;
+    private final String systemErr;
+    private volatile FailureDigest failureDigest;
 
     public TestResult(String testName, Status status, Throwable failureCause, long executionTimeMillis, String skipReason) {
+        this(testName, null, status, failureCause, null, executionTimeMillis, skipReason, Collections.emptyMap(),
+                null, null, null);
+    }
+
+    private TestResult(String testName, String testId, Status status, Throwable failureCause,
+                       FailureDigest failureDigest, long executionTimeMillis, String skipReason,
+                       Map<String, String> properties, TestMetrics metrics, String systemOut, String systemErr) {
         this.testName = testName;
+        this.testId = testId;
         this.status = status;
         this.failureCause = failureCause;
+        this.failureDigest = failureDigest;
         this.executionTimeMillis = executionTimeMillis;
         this.skipReason = skipReason;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.systemOut = systemOut;
+        this.systemErr = systemErr;
     }
 
     // Convenience constructors for backward compatibility
@@ -43,10 +66,36 @@ public class TestResult {
         return new TestResult(testName, Status.FAILED, cause, executionTimeMillis, null);
     }
 
+    /**
+     * Recreates a result that was recorded earlier, for example in a run journal.
+     * The original exception is gone; only its digest is available.
+     */
+    public static TestResult recorded(String testName, String testId, Status status, FailureDigest failure,
+                                      long executionTimeMillis, String skipReason) {
+        return new TestResult(testName, testId, status, null, failure, executionTimeMillis, skipReason,
+                Collections.emptyMap(), null, null, null);
+    }
+
     public String getTestName() {
         return testName;
     }
 
+    /**
+     * Returns the {@link TestCase#getId() id} of the test case, or null if the result
+     * was not produced by a {@link TestExecutor}.
+     */
+    public String getTestId() {
+        return testId;
+    }
+
+    /**
+     * Returns a copy of this result for the test case with the given id.
+     */
+    public TestResult withTestId(String testId) {
+        return new TestResult(testName, testId, status, failureCause, failureDigest, executionTimeMillis, skipReason,
+                properties, metrics, systemOut, systemErr);
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -59,10 +108,25 @@ public class TestResult {
         return status == Status.SKIPPED;
     }
 
+    /**
+     * Returns the exception the test failed with, or null. Always null for
+     * {@link #recorded recorded} results; use {@link #getFailureDigest()} instead.
+     */
     public Throwable getFailureCause() {
         return failureCause;
     }
 
+    /**
+     * Returns the normalised failure cause, or null if the test did not fail with an exception.
+     * Computed on first use.
+     */
+    public FailureDigest getFailureDigest() {
+        if (failureDigest == null && failureCause != null) {
+            failureDigest = FailureDigest.of(failureCause);
+        }
+        return failureDigest;
+    }
+
     public long getExecutionTimeMillis() {
         return executionTimeMillis;
     }
@@ -70,4 +134,61 @@ public class TestResult {
     public String getSkipReason() {
         return skipReason;
     }
+
+    /**
+     * Additional named values recorded for this test, such as stress test statistics.
+     * Reporters render them next to the result. Never null.
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns a copy of this result with the given properties added.
+     */
+    public TestResult withProperties(Map<String, String> additional) {
+        Map<String, String> merged = new LinkedHashMap<>(properties);
+        merged.putAll(additional);
+        return new TestResult(testName, testId, status, failureCause, failureDigest, executionTimeMillis, skipReason,
+                Collections.unmodifiableMap(merged), metrics, systemOut, systemErr);
+    }
+
+    /**
+     * Resource usage measured while the test ran, or null if it was not measured
+     * (for example for skipped tests).
+     */
+    public TestMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns a copy of this result with the given resource usage.
+     */
+    public TestResult withMetrics(TestMetrics metrics) {
+        return new TestResult(testName, testId, status, failureCause, failureDigest, executionTimeMillis, skipReason,
+                properties, metrics, systemOut, systemErr);
+    }
+
+    /**
+     * Returns what the test wrote to {@code System.out} while output capture was on,
+     * or null. Output is only kept for failed tests.
+     */
+    public String getSystemOut() {
+        return systemOut;
+    }
+
+    /**
+     * Returns what the test wrote to {@code System.err} while output capture was on, or null.
+     */
+    public String getSystemErr() {
+        return systemErr;
+    }
+
+    /**
+     * Returns a copy of this result with the given captured output.
+     */
+    public TestResult withOutput(String systemOut, String systemErr) {
+        return new TestResult(testName, testId, status, failureCause, failureDigest, executionTimeMillis, skipReason,
+                properties, metrics, systemOut, systemErr);
+    }
 }
@@ -6,7 +6,9 @@ import com.myframework.dev.annotations.Test.None;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Scans a test class and discovers all test methods and lifecycle methods.
@@ -27,6 +29,9 @@ public class TestScanner {
             Disabled classDisabledAnnotation = testClass.getAnnotation(Disabled.class);
             classDisabledReason = classDisabledAnnotation.value();
         }
+        TestInstance instanceAnnotation = testClass.getAnnotation(TestInstance.class);
+        boolean perClassInstance = instanceAnnotation != null
+            && instanceAnnotation.value() == TestInstance.Lifecycle.PER_CLASS;
 
         for (Method method : testClass.getDeclaredMethods()) {
             if (method.isAnnotationPresent(BeforeEach.class)) {
@@ -36,17 +41,19 @@ public class TestScanner {
                 afterEach.add(method);
             }
             if (method.isAnnotationPresent(BeforeAll.class)) {
-                if (Modifier.isStatic(method.getModifiers())) {
+                if (perClassInstance || Modifier.isStatic(method.getModifiers())) {
                     beforeAll.add(method);
                 } else {
-                    System.err.println("Warning: @BeforeAll method " + method.getName() + " must be static. Ignoring.");
+                    System.err.println("Warning: @BeforeAll method " + method.getName()
+                        + " must be static unless the class is @TestInstance(PER_CLASS). Ignoring.");
                 }
             }
             if (method.isAnnotationPresent(AfterAll.class)) {
-                if (Modifier.isStatic(method.getModifiers())) {
+                if (perClassInstance || Modifier.isStatic(method.getModifiers())) {
                     afterAll.add(method);
                 } else {
-                    System.err.println("Warning: @AfterAll method " + method.getName() + " must be static. Ignoring.");
+                    System.err.println("Warning: @AfterAll method " + method.getName()
+                        + " must be static unless the class is @TestInstance(PER_CLASS). Ignoring.");
                 }
             }
             if (method.isAnnotationPresent(Test.class)) {
@@ -54,6 +61,11 @@ public class TestScanner {
             }
         }
 
+        Set<String> testNames = new HashSet<>();
+        for (Method testMethod : testMethods) {
+            testNames.add(testMethod.getName());
+        }
+
         List<TestCase> testCases = new ArrayList<>();
         for (Method testMethod : testMethods) {
             Test testAnnotation = testMethod.getAnnotation(Test.class);
@@ -77,7 +89,48 @@ public class TestScanner {
                 disabledReason = classDisabledReason;
             }
             
-            testCases.add(new TestCaseBuilder()
+            TestCaseBuilder builder = new TestCaseBuilder();
+            ConcurrentStress stress = testMethod.getAnnotation(ConcurrentStress.class);
+            if (stress != null) {
+                if (stress.threads() > 0 && stress.iterations() > 0) {
+                    builder.concurrentStress(stress.threads(), stress.iterations(), stress.seed());
+                    if (expectedException != null) {
+                        System.err.println("Warning: @ConcurrentStress on " + testMethod.getName()
+                            + " cannot expect an exception, since every invocation must pass. Ignoring expected.");
+                        expectedException = null;
+                    }
+                } else {
+                    System.err.println("Warning: @ConcurrentStress on " + testMethod.getName()
+                        + " needs positive threads and iterations. Running it once.");
+                }
+            }
+            LoadTest load = testMethod.getAnnotation(LoadTest.class);
+            if (load != null) {
+                if (stress != null) {
+                    System.err.println("Warning: " + testMethod.getName()
+                        + " has both @ConcurrentStress and @LoadTest. Ignoring @LoadTest.");
+                } else if (load.ratePerSecond() > 0 && load.duration() > 0 && load.concurrency() > 0) {
+                    builder.loadTest(load.ratePerSecond(), load.duration(), load.concurrency(), load.maxP99Millis());
+                } else {
+                    System.err.println("Warning: @LoadTest on " + testMethod.getName()
+                        + " needs positive ratePerSecond, duration and concurrency. Running it once.");
+                }
+            }
+
+            List<String> dependencies = new ArrayList<>();
+            DependsOn dependsOn = testMethod.getAnnotation(DependsOn.class);
+            if (dependsOn != null) {
+                for (String dependency : dependsOn.value()) {
+                    if (testNames.contains(dependency) && !dependency.equals(testMethod.getName())) {
+                        dependencies.add(dependency);
+                    } else {
+                        System.err.println("Warning: @DependsOn on " + testMethod.getName()
+                            + " names " + dependency + ", which is not another test method of the class. Ignoring.");
+                    }
+                }
+            }
+
+            testCases.add(builder
                 .testClass(testClass)
                 .testMethod(testMethod)
                 .beforeEachMethods(beforeEach)
@@ -88,6 +141,10 @@ public class TestScanner {
                 .timeout(timeout)
                 .disabled(methodDisabled)
                 .disabledReason(disabledReason)
+                .perClassInstance(perClassInstance)
+                .resources(ResourceLocks.declaredBy(testClass, testMethod))
+                .dependencies(dependencies)
+                .tagBits(TagSelection.tagsOf(testClass, testMethod))
                 .build());
         }
         return testCases;
@@ -3,9 +3,11 @@ package com.myframework.dev.examples;
 
 import com.myframework.dev.annotations.BeforeEach;
 import com.myframework.dev.annotations.AfterEach;
+import com.myframework.dev.annotations.Tag;
 import com.myframework.dev.annotations.Test;
 import com.myframework.dev.core.Assert;
 
+@Tag("fast")
 public class CalculatorTest {
 
     private Calculator calculator;
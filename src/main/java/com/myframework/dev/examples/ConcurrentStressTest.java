@@ -0,0 +1,45 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.annotations.AfterEach;
+import com.myframework.dev.annotations.ConcurrentStress;
+import com.myframework.dev.annotations.Tag;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.core.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Tag("slow")
+public class ConcurrentStressTest {
+
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 10_000;
+
+    private final AtomicLong atomicCounter = new AtomicLong();
+    private long plainCounter;
+
+    @AfterEach
+    public void checkInvariants() {
+        // Runs once after all threads have finished
+        if (atomicCounter.get() > 0) {
+            Assert.assertEquals((long) THREADS * ITERATIONS, atomicCounter.get());
+        }
+        if (plainCounter > 0) {
+            Assert.assertEquals((long) THREADS * ITERATIONS, plainCounter);
+        }
+    }
+
+    @ConcurrentStress(threads = THREADS, iterations = ITERATIONS)
+    @Test
+    public void testAtomicIncrement() {
+        atomicCounter.incrementAndGet();
+    }
+
+    @ConcurrentStress(threads = THREADS, iterations = ITERATIONS)
+    @Test
+    public void racyIncrementExample() {
+        // Intentionally not thread-safe to see a FAIL with lost updates
+        long value = plainCounter;
+        Thread.yield();
+        plainCounter = value + 1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.annotations.DependsOn;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.core.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A chain of steps: each one builds on the state left by the steps it depends on.
+ * {@code shipOrder} and {@code sendInvoice} only need the paid order, so they
+ * can run at the same time with {@code --parallel}. If {@code payOrder} fails,
+ * the steps after it are skipped instead of failing for the same reason.
+ */
+public class OrderWorkflowTest {
+
+    private static final Map<String, String> orders = new ConcurrentHashMap<>();
+
+    @Test
+    public void createOrder() {
+        orders.put("order-1", "created");
+    }
+
+    @Test
+    @DependsOn("createOrder")
+    public void payOrder() {
+        Assert.assertEquals("created", orders.get("order-1"));
+        orders.put("order-1", "paid");
+    }
+
+    @Test
+    @DependsOn("payOrder")
+    public void shipOrder() {
+        Assert.assertTrue(orders.get("order-1").equals("paid") || orders.get("order-1").equals("invoiced"));
+    }
+
+    @Test
+    @DependsOn("payOrder")
+    public void sendInvoice() {
+        Assert.assertTrue(orders.get("order-1").equals("paid") || orders.get("order-1").equals("invoiced"));
+        orders.put("order-1", "invoiced");
+    }
+
+    @Test
+    @DependsOn({"shipOrder", "sendInvoice"})
+    public void closeOrder() {
+        Assert.assertEquals("invoiced", orders.get("order-1"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.annotations.AfterAll;
+import com.myframework.dev.annotations.BeforeAll;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.annotations.TestInstance;
+import com.myframework.dev.core.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PerClassLifecycleTest {
+
+    private static int instancesCreated = 0;
+
+    // Expensive state built once and shared by all tests of the class
+    private final List<Integer> squares = new ArrayList<>();
+    private Calculator calculator;
+
+    public PerClassLifecycleTest() {
+        instancesCreated++;
+        for (int i = 0; i < 1000; i++) {
+            squares.add(i * i);
+        }
+    }
+
+    @BeforeAll
+    public void setUpCalculator() {
+        calculator = new Calculator();
+    }
+
+    @Test
+    public void testSquares() {
+        Assert.assertEquals(Integer.valueOf(81), squares.get(9));
+    }
+
+    @Test
+    public void testCalculatorFromBeforeAll() {
+        Assert.assertNotNull(calculator);
+        Assert.assertEquals(4, calculator.add(2, 2));
+    }
+
+    @Test
+    public void testSingleInstance() {
+        Assert.assertEquals(1, instancesCreated);
+    }
+
+    @AfterAll
+    public void tearDownCalculator() {
+        calculator = null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.core.FixtureProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stand-in for an expensive fixture such as an embedded database: a large
+ * in-memory table of prices that several test classes share.
+ */
+public class PriceCatalog {
+
+    // With --isolate this class comes from the parent loader, as the type of a
+    // @SharedFixture field, so the count covers every isolated test class
+    private static int instancesCreated = 0;
+
+    private final Map<String, Integer> prices = new HashMap<>();
+
+    public PriceCatalog() {
+        instancesCreated++;
+        for (int i = 0; i < 100_000; i++) {
+            prices.put("item-" + i, i % 1000);
+        }
+    }
+
+    public static int getInstancesCreated() {
+        return instancesCreated;
+    }
+
+    public Integer price(String item) {
+        return prices.get(item);
+    }
+
+    public void setPrice(String item, int price) {
+        prices.put(item, price);
+    }
+
+    /**
+     * Creates the catalog once per run for every class that declares it as a {@code @SharedFixture}.
+     */
+    public static class Provider implements FixtureProvider<PriceCatalog> {
+        @Override
+        public PriceCatalog create() {
+            return new PriceCatalog();
+        }
+    }
+}
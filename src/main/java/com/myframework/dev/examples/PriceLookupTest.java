@@ -0,0 +1,33 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.annotations.SharedFixture;
+import com.myframework.dev.annotations.Tag;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.annotations.UsesResource;
+import com.myframework.dev.core.Assert;
+
+// Only reads the catalog, so it runs alongside other readers with --parallel
+@Tag("fast")
+@Tag("catalog")
+@UsesResource(value = "catalog", mode = UsesResource.Mode.READ)
+public class PriceLookupTest {
+
+    @SharedFixture(PriceCatalog.Provider.class)
+    private PriceCatalog catalog;
+
+    @Test
+    @Tag("smoke")
+    public void testLookup() {
+        Assert.assertEquals(Integer.valueOf(42), catalog.price("item-42"));
+    }
+
+    @Test
+    public void testMissingItem() {
+        Assert.assertNull(catalog.price("unknown"));
+    }
+
+    @Test
+    public void testCatalogCreatedOnce() {
+        Assert.assertEquals(1, PriceCatalog.getInstancesCreated());
+    }
+}
@@ -0,0 +1,28 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.annotations.SharedFixture;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.annotations.UsesResource;
+import com.myframework.dev.core.Assert;
+
+public class PriceUpdateTest {
+
+    @SharedFixture(PriceCatalog.Provider.class)
+    private static PriceCatalog catalog;
+
+    @Test
+    @UsesResource(value = "catalog", mode = UsesResource.Mode.READ)
+    public void testSharedWithLookupTest() {
+        Assert.assertEquals(1, PriceCatalog.getInstancesCreated());
+    }
+
+    // Holds the catalog exclusively, so no reader sees the temporary price
+    @Test
+    @UsesResource("catalog")
+    public void testUpdateAndRestore() {
+        int original = catalog.price("item-7");
+        catalog.setPrice("item-7", 999);
+        Assert.assertEquals(Integer.valueOf(999), catalog.price("item-7"));
+        catalog.setPrice("item-7", original);
+    }
+}
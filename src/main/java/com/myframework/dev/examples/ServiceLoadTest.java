@@ -0,0 +1,27 @@
+package com.myframework.dev.examples;
+
+import com.myframework.dev.annotations.LoadTest;
+import com.myframework.dev.annotations.Tag;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.core.Assert;
+
+@Tag("slow")
+public class ServiceLoadTest {
+
+    private final Calculator calculator = new Calculator();
+
+    @LoadTest(ratePerSecond = 200, duration = 2000, concurrency = 4, maxP99Millis = 50)
+    @Test
+    public void testCalculatorUnderLoad() throws InterruptedException {
+        // Simulated service call
+        Thread.sleep(2);
+        Assert.assertEquals(5, calculator.add(2, 3));
+    }
+
+    @LoadTest(ratePerSecond = 100, duration = 1000, concurrency = 1, maxP99Millis = 5)
+    @Test
+    public void saturatedServiceExample() throws InterruptedException {
+        // Intentionally slower than the arrival rate to see a FAIL on p99
+        Thread.sleep(15);
+    }
+}
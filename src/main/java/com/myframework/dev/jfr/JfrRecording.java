@@ -0,0 +1,47 @@
+package com.myframework.dev.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts a Flight Recorder recording for the duration of a test run and
+ * writes it to a file when the run is over.
+ */
+public class JfrRecording implements AutoCloseable {
+
+    private final Recording recording;
+    private final Path destination;
+
+    private JfrRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    /**
+     * Starts a recording with the JDK "default" settings plus all test framework events.
+     */
+    public static JfrRecording start(Path destination) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("Simple Test Framework");
+        recording.enable(TestRunEvent.class);
+        recording.enable(TestClassEvent.class);
+        recording.enable(TestEvent.class);
+        recording.enable(TestPhaseEvent.class);
+        recording.start();
+        return new JfrRecording(recording, destination);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            recording.stop();
+            recording.dump(destination);
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.myframework.dev.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning all tests of one class, from @BeforeAll to @AfterAll.
+ */
+@Name("com.myframework.TestClass")
+@Label("Test Class")
+@Category("Simple Test Framework")
+@StackTrace(false)
+@Description("Execution of all selected tests of a test class")
+public class TestClassEvent extends Event {
+
+    @Label("Test Class")
+    public String testClass;
+
+    @Label("Tests")
+    public int tests;
+}
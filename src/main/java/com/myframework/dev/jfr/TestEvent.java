@@ -0,0 +1,25 @@
+package com.myframework.dev.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the execution of a single test.
+ */
+@Name("com.myframework.Test")
+@Label("Test")
+@Category("Simple Test Framework")
+@StackTrace(false)
+@Description("Execution of a single test method including @BeforeEach and @AfterEach")
+public class TestEvent extends Event {
+
+    @Label("Test Name")
+    public String testName;
+
+    @Label("Status")
+    public String status;
+}
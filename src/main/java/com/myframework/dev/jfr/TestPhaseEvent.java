@@ -0,0 +1,26 @@
+package com.myframework.dev.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one lifecycle phase, such as a @BeforeEach method or the test method itself.
+ */
+@Name("com.myframework.TestPhase")
+@Label("Test Phase")
+@Category("Simple Test Framework")
+@StackTrace(false)
+@Description("A lifecycle phase of a test or test class")
+public class TestPhaseEvent extends Event {
+
+    @Label("Owner")
+    @Description("Test name for per-test phases, class name for @BeforeAll and @AfterAll")
+    public String owner;
+
+    @Label("Phase")
+    public String phase;
+}
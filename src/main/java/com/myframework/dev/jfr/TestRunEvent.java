@@ -0,0 +1,34 @@
+package com.myframework.dev.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a whole test run.
+ */
+@Name("com.myframework.TestRun")
+@Label("Test Run")
+@Category("Simple Test Framework")
+@StackTrace(false)
+@Description("A complete run of the test runner")
+public class TestRunEvent extends Event {
+
+    @Label("Classes")
+    public int classes;
+
+    @Label("Total")
+    public int total;
+
+    @Label("Passed")
+    public int passed;
+
+    @Label("Failed")
+    public int failed;
+
+    @Label("Skipped")
+    public int skipped;
+}
@@ -0,0 +1,167 @@
+package com.myframework.dev.journal;
+
+import com.myframework.dev.core.TestResult;
+import com.myframework.dev.report.TestReporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the records of a run journal in order.
+ * <p>
+ * Reading stops at the first record that is incomplete or fails its checksum;
+ * {@link #isTruncated()} then tells that the journal did not end cleanly.
+ */
+public class JournalReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte type;
+    private ByteBuffer payload;
+    private boolean endOfFile;
+    private boolean truncated;
+    private long validLength = RunJournal.HEADER_SIZE;
+
+    public JournalReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.flip();
+        if (!fill(RunJournal.HEADER_SIZE) || buffer.getInt() != RunJournal.MAGIC) {
+            channel.close();
+            throw new IOException("Not a run journal: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != RunJournal.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported run journal version " + version + ": " + path);
+        }
+    }
+
+    /**
+     * Moves to the next record and returns false when there are no more intact records.
+     */
+    public boolean next() throws IOException {
+        if (endOfFile || truncated) {
+            return false;
+        }
+        if (!fill(Integer.BYTES)) {
+            endOfFile = buffer.remaining() == 0;
+            truncated = !endOfFile;
+            return false;
+        }
+        int length = buffer.getInt(buffer.position());
+        if (length < 0 || length > channel.size() || !fill(RunJournal.FRAME_OVERHEAD + length)) {
+            truncated = true;
+            return false;
+        }
+        buffer.getInt();
+        type = buffer.get();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        if (buffer.getInt() != RunJournal.checksum(type, bytes, 0, length)) {
+            truncated = true;
+            return false;
+        }
+        payload = ByteBuffer.wrap(bytes);
+        validLength += RunJournal.FRAME_OVERHEAD + length;
+        return true;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * Returns the payload of the current record.
+     */
+    public ByteBuffer getPayload() {
+        return payload;
+    }
+
+    /**
+     * Returns true if reading stopped at a damaged or incomplete record.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Returns the length of the journal up to the end of the last intact record read so far.
+     */
+    public long getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * Feeds every recorded result to the reporter and finishes the run with the recorded
+     * counts. A journal without an end-of-run record, e.g. from a crashed run, is finished
+     * with counts computed from the results that were read.
+     *
+     * @return the number of results replayed
+     */
+    public int replay(TestReporter reporter) throws IOException {
+        int total = 0;
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        int[] finished = null;
+        while (next()) {
+            if (type == RunJournal.RESULT) {
+                TestResult result = RunJournal.decodeResult(payload);
+                reporter.testStarted(result.getTestName());
+                reporter.testFinished(result);
+                total++;
+                if (result.isSkipped()) {
+                    skipped++;
+                } else if (result.isSuccess()) {
+                    passed++;
+                } else {
+                    failed++;
+                }
+            } else if (type == RunJournal.RUN_FINISHED) {
+                finished = new int[] {payload.getInt(), payload.getInt(), payload.getInt(), payload.getInt()};
+            }
+        }
+        if (finished == null) {
+            System.err.println("Warning: Run journal " + path + " is incomplete, replaying " + total + " result(s)");
+            finished = new int[] {total, passed, failed, skipped};
+        }
+        reporter.testRunFinished(finished[0], finished[1], finished[2], finished[3]);
+        return total;
+    }
+
+    /**
+     * Makes sure at least the given number of bytes is buffered.
+     */
+    private boolean fill(int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return true;
+        }
+        if (required > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(required, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < required) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= required;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
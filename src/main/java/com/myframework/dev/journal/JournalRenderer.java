@@ -0,0 +1,64 @@
+package com.myframework.dev.journal;
+
+import com.myframework.dev.report.TestReporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renders reports from a run journal after the run is over.
+ * Each reporter replays the journal with its own reader, so several
+ * report formats are produced in parallel.
+ */
+public final class JournalRenderer {
+
+    private JournalRenderer() {
+    }
+
+    /**
+     * Replays the journal into every reporter and waits until all of them are done.
+     *
+     * @return the number of results in the journal
+     */
+    public static int render(Path journal, List<TestReporter> reporters) throws IOException {
+        if (reporters.size() == 1) {
+            return replay(journal, reporters.get(0));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(reporters.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Integer>> renders = new ArrayList<>();
+            for (TestReporter reporter : reporters) {
+                renders.add(pool.submit(() -> replay(journal, reporter)));
+            }
+            int results = 0;
+            for (Future<Integer> render : renders) {
+                results = render.get();
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering " + journal, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to render " + journal + ": " + cause.getMessage(), cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int replay(Path journal, TestReporter reporter) throws IOException {
+        try (JournalReader reader = new JournalReader(journal)) {
+            return reader.replay(reporter);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.myframework.dev.journal;
+
+import com.myframework.dev.core.TestResult;
+import com.myframework.dev.report.TestReporter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every finished test to a run journal.
+ * <p>
+ * Records are collected in a 64 KB buffer and written to the file channel
+ * when the buffer is full, so a test only pays for encoding its result.
+ * Syncs to disk are batched: the buffer is written and forced at most once
+ * per second and at the end of the run. If the JVM or the machine dies
+ * mid-run, the journal is still readable up to the last synced record and
+ * the run can be {@link #resume resumed} from it.
+ */
+public class JournalWriter implements TestReporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long SYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Map<String, TestResult> recordedResults;
+    private long lastSync = System.nanoTime();
+    private boolean closed;
+
+    /**
+     * Starts a new journal, replacing any existing file.
+     */
+    public JournalWriter(Path path) throws IOException {
+        this(path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), Collections.emptyMap());
+        buffer.putInt(RunJournal.MAGIC).putInt(RunJournal.VERSION);
+        flush();
+    }
+
+    private JournalWriter(Path path, FileChannel channel, Map<String, TestResult> recordedResults) {
+        this.path = path;
+        this.channel = channel;
+        this.recordedResults = recordedResults;
+    }
+
+    /**
+     * Opens an existing journal for appending. The results it already holds are
+     * available from {@link #getRecordedResults()}; a damaged record at its end,
+     * left behind by a crash, is cut off.
+     */
+    public static JournalWriter resume(Path path) throws IOException {
+        Map<String, TestResult> recorded = new LinkedHashMap<>();
+        long validLength;
+        try (JournalReader reader = new JournalReader(path)) {
+            while (reader.next()) {
+                if (reader.getType() == RunJournal.RESULT) {
+                    TestResult result = RunJournal.decodeResult(reader.getPayload());
+                    if (result.getTestId() != null) {
+                        recorded.put(result.getTestId(), result);
+                    }
+                }
+            }
+            if (reader.isTruncated()) {
+                System.err.println("Warning: Discarding incomplete record at the end of run journal " + path);
+            }
+            validLength = reader.getValidLength();
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        return new JournalWriter(path, channel, Collections.unmodifiableMap(recorded));
+    }
+
+    /**
+     * Returns the results that were already in the journal when it was resumed,
+     * keyed by test case id. Empty for a new journal.
+     */
+    public Map<String, TestResult> getRecordedResults() {
+        return recordedResults;
+    }
+
+    @Override
+    public void testStarted(String testName) {
+    }
+
+    @Override
+    public void testFinished(TestResult result) {
+        if (result.getTestId() != null && recordedResults.get(result.getTestId()) == result) {
+            return; // replayed from this journal
+        }
+        append(RunJournal.RESULT, RunJournal.encodeResult(result));
+    }
+
+    @Override
+    public synchronized void testRunFinished(int total, int passed, int failed, int skipped) {
+        if (closed) {
+            return;
+        }
+        append(RunJournal.RUN_FINISHED, RunJournal.encodeRunFinished(total, passed, failed, skipped));
+        closed = true;
+        try (channel) {
+            flush();
+            channel.force(false);
+            System.out.println("Run journal written: " + path);
+        } catch (IOException e) {
+            System.err.println("Failed to write run journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a framed record to the buffer, writing the buffer out first if the record does not fit.
+     */
+    private synchronized void append(byte type, byte[] payload) {
+        if (closed) {
+            return;
+        }
+        byte[] record = RunJournal.frame(type, payload);
+        try {
+            if (record.length > buffer.remaining()) {
+                flush();
+            }
+            if (record.length > buffer.capacity()) {
+                write(ByteBuffer.wrap(record));
+            } else {
+                buffer.put(record);
+            }
+            if (System.nanoTime() - lastSync >= SYNC_INTERVAL_NANOS) {
+                flush();
+                channel.force(false);
+                lastSync = System.nanoTime();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write run journal: " + e.getMessage());
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     */
+    private synchronized void flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
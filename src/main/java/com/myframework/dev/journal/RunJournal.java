@@ -0,0 +1,172 @@
+package com.myframework.dev.journal;
+
+import com.myframework.dev.core.FailureDigest;
+import com.myframework.dev.core.TestMetrics;
+import com.myframework.dev.core.TestResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary format of the run journal.
+ * <p>
+ * A journal starts with the magic bytes {@code STFJ} and a format version,
+ * followed by records. Each record is framed as
+ * <pre>
+ *   int length | byte type | payload (length bytes) | int crc32(type + payload)
+ * </pre>
+ * A record that is cut short or fails its checksum marks the end of the
+ * usable journal, so a journal left behind by a crashed run can still be
+ * read up to the last complete record.
+ */
+public final class RunJournal {
+
+    static final int MAGIC = 0x5354464A; // "STFJ"
+    static final int VERSION = 3;
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    static final int FRAME_OVERHEAD = Integer.BYTES + 1 + Integer.BYTES;
+
+    /** A finished test, see {@link #encodeResult}. */
+    public static final byte RESULT = 1;
+    /** The end of the run: total, passed, failed and skipped counts. */
+    public static final byte RUN_FINISHED = 2;
+
+    private RunJournal() {
+    }
+
+    /**
+     * Frames a record: length, type, payload and checksum.
+     */
+    public static byte[] frame(byte type, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(FRAME_OVERHEAD + payload.length);
+        record.putInt(payload.length);
+        record.put(type);
+        record.put(payload);
+        record.putInt(checksum(type, payload, 0, payload.length));
+        return record.array();
+    }
+
+    /**
+     * Returns the checksum stored at the end of a frame.
+     */
+    public static int checksum(byte type, byte[] payload, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encodes a test result. Failures are stored as their {@link FailureDigest}.
+     */
+    public static byte[] encodeResult(TestResult result) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeString(out, result.getTestName());
+            writeString(out, result.getTestId());
+            out.writeByte(result.getStatus().ordinal());
+            out.writeLong(result.getExecutionTimeMillis());
+            writeString(out, result.getSkipReason());
+            TestMetrics metrics = result.getMetrics();
+            out.writeBoolean(metrics != null);
+            if (metrics != null) {
+                out.writeLong(metrics.getCpuTimeNanos());
+                out.writeLong(metrics.getAllocatedBytes());
+                out.writeLong(metrics.getGcCount());
+                out.writeLong(metrics.getGcTimeMillis());
+            }
+            out.writeInt(result.getProperties().size());
+            for (Map.Entry<String, String> property : result.getProperties().entrySet()) {
+                writeString(out, property.getKey());
+                writeString(out, property.getValue());
+            }
+            writeString(out, result.getSystemOut());
+            writeString(out, result.getSystemErr());
+            FailureDigest failure = result.getFailureDigest();
+            out.writeBoolean(failure != null);
+            if (failure != null) {
+                writeString(out, failure.getFingerprint());
+                writeString(out, failure.getType());
+                writeString(out, failure.getMessage());
+                writeString(out, failure.getLocation());
+                writeString(out, failure.getFrames());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode result of " + result.getTestName(), e);
+        }
+    }
+
+    /**
+     * Decodes a result written by {@link #encodeResult}.
+     */
+    public static TestResult decodeResult(ByteBuffer in) {
+        String testName = readString(in);
+        String testId = readString(in);
+        TestResult.Status status = TestResult.Status.values()[in.get()];
+        long executionTimeMillis = in.getLong();
+        String skipReason = readString(in);
+        TestMetrics metrics = null;
+        if (in.get() != 0) {
+            metrics = new TestMetrics(in.getLong(), in.getLong(), in.getLong(), in.getLong());
+        }
+        int propertyCount = in.getInt();
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put(readString(in), readString(in));
+        }
+        String systemOut = readString(in);
+        String systemErr = readString(in);
+        FailureDigest failure = null;
+        if (in.get() != 0) {
+            failure = FailureDigest.restore(readString(in), readString(in), readString(in), readString(in),
+                    readString(in));
+        }
+        TestResult result = TestResult.recorded(testName, testId, status, failure, executionTimeMillis, skipReason);
+        if (!properties.isEmpty()) {
+            result = result.withProperties(properties);
+        }
+        if (systemOut != null || systemErr != null) {
+            result = result.withOutput(systemOut, systemErr);
+        }
+        return metrics != null ? result.withMetrics(metrics) : result;
+    }
+
+    /**
+     * Encodes the final counts of a run.
+     */
+    public static byte[] encodeRunFinished(int total, int passed, int failed, int skipped) {
+        return ByteBuffer.allocate(4 * Integer.BYTES)
+                .putInt(total).putInt(passed).putInt(failed).putInt(skipped)
+                .array();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
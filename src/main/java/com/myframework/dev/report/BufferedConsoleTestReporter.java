@@ -0,0 +1,151 @@
+package com.myframework.dev.report;
+
+import com.myframework.dev.core.TestResult;
+
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Console reporter for large runs. Passing tests produce no output; failures
+ * and the summary are collected in one buffer that is written to the console
+ * at most every 100 ms (or when it grows past 64 KB), with a single write and
+ * flush instead of several {@code println} calls per test.
+ * <p>
+ * In {@link Mode#PROGRESS} mode a single-line progress bar is redrawn on each
+ * flush when the output is a terminal; when it is not, a plain progress line
+ * is printed every 10 seconds instead. {@link Mode#QUIET} prints only the
+ * failures and the summary.
+ */
+public class BufferedConsoleTestReporter implements TestReporter {
+
+    /**
+     * What is shown while the tests run.
+     */
+    public enum Mode {
+        PROGRESS, QUIET
+    }
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final long REFRESH_MILLIS = 100;
+    private static final long PLAIN_PROGRESS_MILLIS = 10_000;
+    private static final int BAR_WIDTH = 30;
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintStream out = System.out;
+    private final Charset charset = Charset.defaultCharset();
+    private final Mode mode;
+    private final boolean terminal;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD);
+    private final FailureTally failures = new FailureTally();
+    private final ScheduledExecutorService refresher;
+    private final long startNanos = System.nanoTime();
+    private int discovered;
+    private int finished;
+    private int failed;
+    private int skipped;
+    private String bar = "";
+    private long lastPlainProgress = System.nanoTime();
+
+    public BufferedConsoleTestReporter(Mode mode) {
+        this.mode = mode;
+        this.terminal = System.console() != null;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "console-reporter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleAtFixedRate(this::refresh, REFRESH_MILLIS, REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void testsDiscovered(int count) {
+        discovered += count;
+    }
+
+    @Override
+    public void testStarted(String testName) {
+    }
+
+    @Override
+    public synchronized void testFinished(TestResult result) {
+        finished++;
+        if (result.isSkipped()) {
+            skipped++;
+        } else if (!result.isSuccess()) {
+            failed++;
+            failures.add(result);
+            buffer.append("  [FAIL] ").append(result.getTestName())
+                  .append(" (").append(result.getExecutionTimeMillis()).append(" ms)").append(NEWLINE)
+                  .append("        Reason: ")
+                  .append(result.getFailureCause() != null ? result.getFailureCause() : result.getFailureDigest())
+                  .append(NEWLINE);
+            ConsoleTestReporter.appendCapturedOutput(buffer, result);
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush(false);
+            }
+        }
+    }
+
+    @Override
+    public void testRunFinished(int total, int passed, int failed, int skipped) {
+        refresher.shutdownNow();
+        synchronized (this) {
+            buffer.append("==================================").append(NEWLINE)
+                  .append("Total:   ").append(total).append(NEWLINE)
+                  .append("Passed:  ").append(passed).append(NEWLINE)
+                  .append("Failed:  ").append(failed).append(NEWLINE)
+                  .append("Skipped: ").append(skipped).append(NEWLINE);
+            failures.appendRepeatedCauses(buffer);
+            flush(false);
+        }
+    }
+
+    private synchronized void refresh() {
+        boolean showBar = mode == Mode.PROGRESS && terminal;
+        if (mode == Mode.PROGRESS && !terminal
+                && System.nanoTime() - lastPlainProgress >= TimeUnit.MILLISECONDS.toNanos(PLAIN_PROGRESS_MILLIS)) {
+            lastPlainProgress = System.nanoTime();
+            buffer.append("Progress: ").append(formatProgress()).append(NEWLINE);
+        }
+        if (buffer.length() > 0 || (showBar && !formatBar().equals(bar))) {
+            flush(showBar);
+        }
+    }
+
+    /**
+     * Writes the buffer with one call, replacing the progress bar if one is shown.
+     */
+    private void flush(boolean redrawBar) {
+        StringBuilder output = new StringBuilder(buffer.length() + 4 * BAR_WIDTH + 128);
+        if (!bar.isEmpty()) {
+            output.append('\r').append(" ".repeat(bar.length())).append('\r');
+            bar = "";
+        }
+        output.append(buffer);
+        buffer.setLength(0);
+        if (redrawBar) {
+            bar = formatBar();
+            output.append(bar);
+        }
+        byte[] bytes = output.toString().getBytes(charset);
+        out.write(bytes, 0, bytes.length);
+        out.flush();
+    }
+
+    private String formatBar() {
+        int total = Math.max(discovered, finished);
+        int filled = total == 0 ? 0 : (int) ((long) finished * BAR_WIDTH / total);
+        return "[" + "=".repeat(filled) + " ".repeat(BAR_WIDTH - filled) + "] " + formatProgress();
+    }
+
+    private String formatProgress() {
+        int total = Math.max(discovered, finished);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return String.format(Locale.ROOT, "%d/%d tests, %d failed, %d skipped, %.0f tests/s",
+                finished, total, failed, skipped, seconds > 0 ? finished / seconds : 0);
+    }
+}
@@ -1,5 +1,6 @@
 package com.myframework.dev.report;
 
+import com.myframework.dev.core.LifecyclePhase;
 import com.myframework.dev.core.TestResult;
 
 /**
@@ -14,6 +15,13 @@ public class CompositeTestReporter implements TestReporter {
         this.reporters = reporters;
     }
 
+    @Override
+    public void testsDiscovered(int count) {
+        for (TestReporter reporter : reporters) {
+            reporter.testsDiscovered(count);
+        }
+    }
+
     @Override
     public void testStarted(String testName) {
         for (TestReporter reporter : reporters) {
@@ -28,6 +36,27 @@ public class CompositeTestReporter implements TestReporter {
         }
     }
 
+    @Override
+    public void phaseStarted(String owner, LifecyclePhase phase) {
+        for (TestReporter reporter : reporters) {
+            reporter.phaseStarted(owner, phase);
+        }
+    }
+
+    @Override
+    public void phaseFinished(String owner, LifecyclePhase phase) {
+        for (TestReporter reporter : reporters) {
+            reporter.phaseFinished(owner, phase);
+        }
+    }
+
+    @Override
+    public void concurrencyChanged(int limit) {
+        for (TestReporter reporter : reporters) {
+            reporter.concurrencyChanged(limit);
+        }
+    }
+
     @Override
     public void testRunFinished(int total, int passed, int failed, int skipped) {
         for (TestReporter reporter : reporters) {
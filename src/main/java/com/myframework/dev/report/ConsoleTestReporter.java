@@ -1,16 +1,30 @@
 package com.myframework.dev.report;
 
+import com.myframework.dev.core.TestMetrics;
 import com.myframework.dev.core.TestResult;
 
+import java.util.Map;
+
 public class ConsoleTestReporter implements TestReporter {
 
+    private final boolean showMetrics;
+    private final FailureTally failures = new FailureTally();
+
+    public ConsoleTestReporter(boolean showMetrics) {
+        this.showMetrics = showMetrics;
+    }
+
+    public ConsoleTestReporter() {
+        this(false);
+    }
+
     @Override
     public void testStarted(String testName) {
         System.out.println("Running: " + testName);
     }
 
     @Override
-    public void testFinished(TestResult result) {
+    public synchronized void testFinished(TestResult result) {
         if (result.isSkipped()) {
             String reason = result.getSkipReason();
             System.out.println("  [SKIP] " + result.getTestName() + 
@@ -21,16 +35,51 @@ public class ConsoleTestReporter implements TestReporter {
         } else {
             System.out.println("  [FAIL] " + result.getTestName()
                     + " (" + result.getExecutionTimeMillis() + " ms)");
-            System.out.println("        Reason: " + result.getFailureCause());
+            System.out.println("        Reason: " + (result.getFailureCause() != null
+                    ? result.getFailureCause() : result.getFailureDigest()));
+            StringBuilder output = new StringBuilder();
+            appendCapturedOutput(output, result);
+            System.out.print(output);
+            failures.add(result);
+        }
+        TestMetrics metrics = result.getMetrics();
+        if (showMetrics && metrics != null) {
+            System.out.println("        cpu: " + metrics.getCpuTimeMillis() + " ms, allocated: "
+                    + TestMetrics.formatBytes(metrics.getAllocatedBytes()) + ", gc: "
+                    + metrics.getGcCount() + " (" + metrics.getGcTimeMillis() + " ms)");
+        }
+        for (Map.Entry<String, String> property : result.getProperties().entrySet()) {
+            System.out.println("        " + property.getKey() + ": " + property.getValue());
+        }
+    }
+
+    /**
+     * Appends the output captured for a failed test, indented below its failure.
+     */
+    static void appendCapturedOutput(StringBuilder out, TestResult result) {
+        appendCapturedOutput(out, "stdout", result.getSystemOut());
+        appendCapturedOutput(out, "stderr", result.getSystemErr());
+    }
+
+    private static void appendCapturedOutput(StringBuilder out, String name, String captured) {
+        if (captured == null || captured.isEmpty()) {
+            return;
+        }
+        out.append("        Captured ").append(name).append(':').append(System.lineSeparator());
+        for (String line : captured.split("\\R")) {
+            out.append("        | ").append(line).append(System.lineSeparator());
         }
     }
 
     @Override
-    public void testRunFinished(int total, int passed, int failed, int skipped) {
+    public synchronized void testRunFinished(int total, int passed, int failed, int skipped) {
         System.out.println("==================================");
         System.out.println("Total:   " + total);
         System.out.println("Passed:  " + passed);
         System.out.println("Failed:  " + failed);
         System.out.println("Skipped: " + skipped);
+        StringBuilder repeated = new StringBuilder();
+        failures.appendRepeatedCauses(repeated);
+        System.out.print(repeated);
     }
 }
@@ -0,0 +1,43 @@
+package com.myframework.dev.report;
+
+import com.myframework.dev.core.FailureDigest;
+import com.myframework.dev.core.TestResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts failed tests per failure cause for the console summaries.
+ */
+class FailureTally {
+
+    private final Map<String, FailureDigest> causes = new LinkedHashMap<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+
+    void add(TestResult result) {
+        FailureDigest digest = result.getFailureDigest();
+        if (digest != null) {
+            causes.putIfAbsent(digest.getFingerprint(), digest);
+            counts.merge(digest.getFingerprint(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Appends one "N tests failed with the same cause" line per cause shared by several tests.
+     */
+    void appendRepeatedCauses(StringBuilder out) {
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > 1) {
+                FailureDigest digest = causes.get(entry.getKey());
+                out.append(entry.getValue()).append(" tests failed with the same cause: ");
+                if (digest.getLocation() != null) {
+                    out.append(digest.getType()).append(" at ").append(digest.getLocation());
+                } else {
+                    // Without a location the message is what the tests have in common
+                    out.append(digest);
+                }
+                out.append(System.lineSeparator());
+            }
+        }
+    }
+}
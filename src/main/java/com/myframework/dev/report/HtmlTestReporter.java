@@ -1,5 +1,6 @@
 package com.myframework.dev.report;
 
+import com.myframework.dev.core.TestMetrics;
 import com.myframework.dev.core.TestResult;
 
 import java.io.FileWriter;
@@ -7,17 +8,30 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class HtmlTestReporter implements TestReporter {
 
-    private final List<TestResult> results = new ArrayList<>();
+    private final ResultStore store;
+    private final boolean ownsStore;
     private final String outputPath;
-    private final List<String> runningTests = new ArrayList<>();
+
+    /**
+     * Creates a reporter that reads results from a shared store.
+     * The store must be placed before this reporter so that it records the results.
+     */
+    public HtmlTestReporter(String outputPath, ResultStore store) {
+        this.outputPath = outputPath != null ? outputPath : "test-report.html";
+        this.store = store.retain();
+        this.ownsStore = false;
+    }
 
     public HtmlTestReporter(String outputPath) {
         this.outputPath = outputPath != null ? outputPath : "test-report.html";
+        this.store = new ResultStore().retain();
+        this.ownsStore = true;
     }
 
     public HtmlTestReporter() {
@@ -26,17 +40,22 @@ public class HtmlTestReporter implements TestReporter {
 
     @Override
     public void testStarted(String testName) {
-        runningTests.add(testName);
     }
 
     @Override
     public void testFinished(TestResult result) {
-        results.add(result);
+        if (ownsStore) {
+            store.add(result);
+        }
     }
 
     @Override
     public void testRunFinished(int total, int passed, int failed, int skipped) {
-        generateHtmlReport(total, passed, failed, skipped);
+        try {
+            generateHtmlReport(total, passed, failed, skipped);
+        } finally {
+            store.release();
+        }
     }
 
     private void generateHtmlReport(int total, int passed, int failed, int skipped) {
@@ -58,6 +77,7 @@ public class HtmlTestReporter implements TestReporter {
             writer.println("        .fail { color: red; font-weight: bold; }");
             writer.println("        .skip { color: orange; font-weight: bold; }");
             writer.println("        .error { background-color: #ffe6e6; font-family: monospace; font-size: 12px; white-space: pre-wrap; }");
+            writer.println("        .properties { font-family: monospace; font-size: 12px; color: #555; }");
             writer.println("        .summary { margin: 20px 0; }");
             writer.println("        .timestamp { color: #666; font-size: 14px; margin-bottom: 20px; }");
             writer.println("    </style>");
@@ -93,38 +113,58 @@ public class HtmlTestReporter implements TestReporter {
             writer.println("            <th>Test Name</th>");
             writer.println("            <th>Status</th>");
             writer.println("            <th>Execution Time (ms)</th>");
+            writer.println("            <th>CPU Time (ms)</th>");
+            writer.println("            <th>Allocated</th>");
+            writer.println("            <th>GC (count / ms)</th>");
             writer.println("            <th>Details</th>");
             writer.println("        </tr>");
             
-            for (TestResult result : results) {
+            Set<String> tracesWritten = new HashSet<>();
+            ResultStore.Cursor row = store.cursor();
+            while (row.next()) {
                 String statusClass;
                 String statusText;
                 String details = "";
                 
-                if (result.isSkipped()) {
+                if (row.isSkipped()) {
                     statusClass = "skip";
                     statusText = "SKIP";
-                    details = result.getSkipReason() != null ? result.getSkipReason() : "";
-                } else if (result.isSuccess()) {
+                    details = escapeHtml(row.getSkipReason());
+                } else if (row.isSuccess()) {
                     statusClass = "pass";
                     statusText = "PASS";
                 } else {
                     statusClass = "fail";
                     statusText = "FAIL";
-                    if (result.getFailureCause() != null) {
-                        details = escapeHtml(getStackTrace(result.getFailureCause()));
-                    }
+                    details = formatFailure(row, tracesWritten) + formatOutput(row);
+                }
+                if (!row.getProperties().isEmpty()) {
+                    details += formatProperties(row.getProperties());
                 }
                 
                 writer.println("        <tr>");
-                writer.println("            <td>" + escapeHtml(result.getTestName()) + "</td>");
+                writer.println("            <td>" + escapeHtml(row.getTestName()) + "</td>");
                 writer.println("            <td class=\"" + statusClass + "\">" + statusText + "</td>");
-                writer.println("            <td>" + result.getExecutionTimeMillis() + "</td>");
+                writer.println("            <td>" + row.getExecutionTimeMillis() + "</td>");
+                TestMetrics metrics = row.getMetrics();
+                if (metrics != null) {
+                    writer.println("            <td>" + metrics.getCpuTimeMillis() + "</td>");
+                    writer.println("            <td>" + TestMetrics.formatBytes(metrics.getAllocatedBytes()) + "</td>");
+                    writer.println("            <td>" + metrics.getGcCount() + " / " + metrics.getGcTimeMillis() + "</td>");
+                } else {
+                    writer.println("            <td></td>");
+                    writer.println("            <td></td>");
+                    writer.println("            <td></td>");
+                }
                 writer.println("            <td class=\"error\">" + details + "</td>");
                 writer.println("        </tr>");
             }
             
             writer.println("    </table>");
+
+            writeFailureGroupSection(writer);
+            writeLoadTestSection(writer);
+
             writer.println("    <p style=\"margin-top: 20px; color: #666; font-size: 12px;\">Generated by Simple Test Framework</p>");
             writer.println("</body>");
             writer.println("</html>");
@@ -135,6 +175,111 @@ public class HtmlTestReporter implements TestReporter {
         }
     }
 
+    /**
+     * Writes the compacted trace of the first test that failed with a cause, and only
+     * the message plus a link to that trace for every later test with the same cause.
+     */
+    private String formatFailure(ResultStore.Cursor row, Set<String> tracesWritten) {
+        ResultStore.FailureGroup group = row.getFailureGroup();
+        if (group == null) {
+            return "";
+        }
+        if (tracesWritten.add(group.getFingerprint())) {
+            return "<span id=\"failure-" + group.getFingerprint() + "\"></span>" + escapeHtml(row.getFailureTrace());
+        }
+        String message = group.getType() + (row.getFailureMessage() != null ? ": " + row.getFailureMessage() : "");
+        return escapeHtml(message) + "\n<a href=\"#failure-" + group.getFingerprint() + "\">Same cause as "
+            + escapeHtml(group.getFirstTestName()) + "</a>";
+    }
+
+    private String formatOutput(ResultStore.Cursor row) {
+        StringBuilder html = new StringBuilder();
+        if (row.getSystemOut() != null && !row.getSystemOut().isEmpty()) {
+            html.append("\n--- stdout ---\n").append(escapeHtml(row.getSystemOut()));
+        }
+        if (row.getSystemErr() != null && !row.getSystemErr().isEmpty()) {
+            html.append("\n--- stderr ---\n").append(escapeHtml(row.getSystemErr()));
+        }
+        return html.toString();
+    }
+
+    private void writeFailureGroupSection(PrintWriter writer) {
+        boolean headerWritten = false;
+        for (ResultStore.FailureGroup group : store.getFailureGroups()) {
+            if (group.getCount() < 2) {
+                continue;
+            }
+            if (!headerWritten) {
+                writer.println("    <h2>Repeated Failures</h2>");
+                writer.println("    <table>");
+                writer.println("        <tr>");
+                writer.println("            <th>Tests</th>");
+                writer.println("            <th>Cause</th>");
+                writer.println("            <th>Location</th>");
+                writer.println("            <th>First Failure</th>");
+                writer.println("        </tr>");
+                headerWritten = true;
+            }
+            writer.println("        <tr>");
+            writer.println("            <td class=\"fail\">" + group.getCount() + " tests failed with the same cause</td>");
+            writer.println("            <td>" + escapeHtml(group.getType()) + "</td>");
+            writer.println("            <td>" + escapeHtml(group.getLocation()) + "</td>");
+            writer.println("            <td><a href=\"#failure-" + group.getFingerprint() + "\">"
+                + escapeHtml(group.getFirstTestName()) + "</a></td>");
+            writer.println("        </tr>");
+        }
+        if (headerWritten) {
+            writer.println("    </table>");
+        }
+    }
+
+    private void writeLoadTestSection(PrintWriter writer) {
+        String[] columns = {"load.requests", "load.achievedRate", "load.errors",
+            "load.p50", "load.p90", "load.p99", "load.p999", "load.max"};
+        boolean headerWritten = false;
+        ResultStore.Cursor row = store.cursor();
+        while (row.next()) {
+            Map<String, String> properties = row.getProperties();
+            if (!properties.containsKey("load.p99")) {
+                continue;
+            }
+            if (!headerWritten) {
+                writer.println("    <h2>Load Test Latencies</h2>");
+                writer.println("    <table>");
+                writer.println("        <tr>");
+                writer.println("            <th>Test Name</th>");
+                writer.println("            <th>Requests</th>");
+                writer.println("            <th>Rate</th>");
+                writer.println("            <th>Errors</th>");
+                writer.println("            <th>p50</th>");
+                writer.println("            <th>p90</th>");
+                writer.println("            <th>p99</th>");
+                writer.println("            <th>p99.9</th>");
+                writer.println("            <th>Max</th>");
+                writer.println("        </tr>");
+                headerWritten = true;
+            }
+            writer.println("        <tr>");
+            writer.println("            <td>" + escapeHtml(row.getTestName()) + "</td>");
+            for (String column : columns) {
+                writer.println("            <td>" + escapeHtml(properties.get(column)) + "</td>");
+            }
+            writer.println("        </tr>");
+        }
+        if (headerWritten) {
+            writer.println("    </table>");
+        }
+    }
+
+    private String formatProperties(Map<String, String> properties) {
+        StringBuilder html = new StringBuilder("<div class=\"properties\">");
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            html.append(escapeHtml(property.getKey())).append(": ")
+                .append(escapeHtml(property.getValue())).append("<br>");
+        }
+        return html.append("</div>").toString();
+    }
+
     private String escapeHtml(String text) {
         if (text == null) return "";
         return text.replace("&", "&amp;")
@@ -143,13 +288,4 @@ public class HtmlTestReporter implements TestReporter {
                   .replace("\"", "&quot;")
                   .replace("'", "&#39;");
     }
-
-    private String getStackTrace(Throwable throwable) {
-        if (throwable == null) return "";
-        java.io.StringWriter sw = new java.io.StringWriter();
-        java.io.PrintWriter pw = new java.io.PrintWriter(sw);
-        throwable.printStackTrace(pw);
-        return sw.toString();
-    }
 }
-
@@ -0,0 +1,292 @@
+package com.myframework.dev.report;
+
+import com.myframework.dev.core.TestResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reporter that serves a live dashboard on localhost and streams test progress
+ * to it as Server-Sent Events. Events are coalesced and sent in batches at a
+ * fixed interval, so a high test rate does not flood the connection.
+ */
+public class LiveTestReporter implements TestReporter {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 250;
+    private static final int SLOWEST_IN_FLIGHT = 5;
+
+    private final HttpServer server;
+    private final ExecutorService serverExecutor;
+    private final ScheduledExecutorService flusher;
+    private final List<OutputStream> clients = new CopyOnWriteArrayList<>();
+    private final Queue<String> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger discovered = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+    private final AtomicInteger passed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicLong firstStartNanos = new AtomicLong();
+    private volatile boolean done;
+
+    /**
+     * Starts the dashboard on {@code http://localhost:port/}. A port of 0 picks a free port.
+     */
+    public LiveTestReporter(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/events", this::handleEvents);
+        server.createContext("/", this::handleDashboard);
+        serverExecutor = Executors.newCachedThreadPool(r -> daemon(r, "live-reporter-http"));
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "live-reporter-flush"));
+        flusher.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        System.out.println("Live dashboard: http://localhost:" + getPort() + "/");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void testsDiscovered(int count) {
+        discovered.addAndGet(count);
+    }
+
+    @Override
+    public void testStarted(String testName) {
+        long now = System.nanoTime();
+        firstStartNanos.compareAndSet(0, now);
+        inFlight.put(testName, now);
+        pendingEvents.add("{\"type\":\"started\",\"name\":" + json(testName) + "}");
+    }
+
+    @Override
+    public void testFinished(TestResult result) {
+        inFlight.remove(result.getTestName());
+        finished.incrementAndGet();
+        String status;
+        if (result.isSkipped()) {
+            skipped.incrementAndGet();
+            status = "SKIP";
+        } else if (result.isSuccess()) {
+            passed.incrementAndGet();
+            status = "PASS";
+        } else {
+            failed.incrementAndGet();
+            status = "FAIL";
+        }
+        pendingEvents.add("{\"type\":\"finished\",\"name\":" + json(result.getTestName())
+                + ",\"status\":\"" + status + "\",\"ms\":" + result.getExecutionTimeMillis() + "}");
+    }
+
+    @Override
+    public void testRunFinished(int total, int passed, int failed, int skipped) {
+        done = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(FLUSH_INTERVAL_MILLIS * 4, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        for (OutputStream client : clients) {
+            closeQuietly(client);
+        }
+        clients.clear();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        String snapshot = "data: {\"events\":[],\"status\":" + statusJson() + "}\n\n";
+        out.write(snapshot.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        // The exchange stays open; batches are written by the flusher
+        clients.add(out);
+    }
+
+    private void handleDashboard(HttpExchange exchange) throws IOException {
+        byte[] body = DASHBOARD.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Sends all pending events to every connected client as one SSE message.
+     */
+    private synchronized void flush() {
+        List<String> batch = new ArrayList<>();
+        String event;
+        while ((event = pendingEvents.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty() && !done && clients.isEmpty()) {
+            return;
+        }
+        String message = "data: {\"events\":[" + String.join(",", batch) + "],\"status\":" + statusJson() + "}\n\n";
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        for (OutputStream client : clients) {
+            try {
+                client.write(bytes);
+                client.flush();
+            } catch (IOException e) {
+                clients.remove(client);
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private String statusJson() {
+        long now = System.nanoTime();
+        int finishedCount = finished.get();
+        long start = firstStartNanos.get();
+        double elapsedSeconds = start == 0 ? 0 : (now - start) / 1e9;
+        double throughput = elapsedSeconds > 0 ? finishedCount / elapsedSeconds : 0;
+        int remaining = Math.max(discovered.get() - finishedCount, 0);
+        double etaSeconds = throughput > 0 ? remaining / throughput : -1;
+
+        StringBuilder slowest = new StringBuilder("[");
+        inFlight.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+            .limit(SLOWEST_IN_FLIGHT)
+            .forEach(e -> {
+                if (slowest.length() > 1) {
+                    slowest.append(',');
+                }
+                slowest.append("{\"name\":").append(json(e.getKey()))
+                       .append(",\"ms\":").append((now - e.getValue()) / 1_000_000).append('}');
+            });
+        slowest.append(']');
+
+        return "{\"discovered\":" + discovered.get()
+            + ",\"finished\":" + finishedCount
+            + ",\"passed\":" + passed.get()
+            + ",\"failed\":" + failed.get()
+            + ",\"skipped\":" + skipped.get()
+            + ",\"throughput\":" + String.format(Locale.ROOT, "%.2f", throughput)
+            + ",\"etaSeconds\":" + String.format(Locale.ROOT, "%.1f", etaSeconds)
+            + ",\"done\":" + done
+            + ",\"slowest\":" + slowest + "}";
+    }
+
+    private static String json(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // client already gone
+        }
+    }
+
+    private static final String DASHBOARD = String.join("\n",
+        "<!DOCTYPE html>",
+        "<html lang=\"en\">",
+        "<head>",
+        "    <meta charset=\"UTF-8\">",
+        "    <title>Live Test Progress</title>",
+        "    <style>",
+        "        body { font-family: Arial, sans-serif; margin: 20px; }",
+        "        h1 { color: #333; }",
+        "        h2 { color: #555; margin-top: 30px; }",
+        "        .bar { width: 100%; height: 24px; background-color: #eee; border: 1px solid #ddd; }",
+        "        .fill { height: 100%; width: 0; background-color: green; }",
+        "        .fill.failing { background-color: red; }",
+        "        table { border-collapse: collapse; width: 100%; margin-top: 10px; }",
+        "        th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }",
+        "        th { background-color: #f2f2f2; }",
+        "        .pass { color: green; font-weight: bold; }",
+        "        .fail { color: red; font-weight: bold; }",
+        "        .skip { color: orange; font-weight: bold; }",
+        "    </style>",
+        "</head>",
+        "<body>",
+        "    <h1>Live Test Progress</h1>",
+        "    <div class=\"bar\"><div id=\"fill\" class=\"fill\"></div></div>",
+        "    <p id=\"summary\">Waiting for tests...</p>",
+        "    <h2>Slowest In Flight</h2>",
+        "    <table id=\"slowest\"><tr><th>Test Name</th><th>Running (ms)</th></tr></table>",
+        "    <h2>Failures</h2>",
+        "    <table id=\"failures\"><tr><th>Test Name</th><th>Execution Time (ms)</th></tr></table>",
+        "    <script>",
+        "        function cell(row, text, cls) { var td = row.insertCell(); td.textContent = text; if (cls) td.className = cls; }",
+        "        var source = new EventSource('/events');",
+        "        source.onmessage = function (e) {",
+        "            var batch = JSON.parse(e.data), s = batch.status;",
+        "            var pct = s.discovered > 0 ? Math.min(100, 100 * s.finished / s.discovered) : 0;",
+        "            var fill = document.getElementById('fill');",
+        "            fill.style.width = pct + '%';",
+        "            fill.className = s.failed > 0 ? 'fill failing' : 'fill';",
+        "            var eta = s.done ? 'done' : (s.etaSeconds >= 0 ? 'ETA ' + s.etaSeconds + ' s' : 'ETA unknown');",
+        "            document.getElementById('summary').innerHTML = s.finished + ' / ' + s.discovered + ' tests - '",
+        "                + '<span class=\"pass\">' + s.passed + ' passed</span>, <span class=\"fail\">' + s.failed",
+        "                + ' failed</span>, <span class=\"skip\">' + s.skipped + ' skipped</span> - '",
+        "                + s.throughput + ' tests/s - ' + eta;",
+        "            var slowest = document.getElementById('slowest');",
+        "            while (slowest.rows.length > 1) slowest.deleteRow(1);",
+        "            s.slowest.forEach(function (t) { var r = slowest.insertRow(); cell(r, t.name); cell(r, t.ms); });",
+        "            var failures = document.getElementById('failures');",
+        "            batch.events.forEach(function (ev) {",
+        "                if (ev.type === 'finished' && ev.status === 'FAIL') {",
+        "                    var r = failures.insertRow(); cell(r, ev.name, 'fail'); cell(r, ev.ms);",
+        "                }",
+        "            });",
+        "            if (s.done) source.close();",
+        "        };",
+        "    </script>",
+        "</body>",
+        "</html>");
+}
@@ -0,0 +1,211 @@
+package com.myframework.dev.report;
+
+import com.myframework.dev.core.TestResult;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reporter that keeps run metrics in lock-free counters and publishes them in
+ * OpenMetrics text format, either to a file at the end of the run or from an
+ * HTTP endpoint on localhost while the run is in progress.
+ */
+public class MetricsTestReporter implements TestReporter {
+
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /** Upper bounds of the duration histogram buckets in milliseconds (powers of two). */
+    private static final long[] BUCKET_BOUNDS_MILLIS = new long[18];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            BUCKET_BOUNDS_MILLIS[i] = 1L << i;
+        }
+    }
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<String, DurationHistogram> durations = new ConcurrentHashMap<>();
+    private volatile int concurrencyLimit = -1;
+    private final String outputPath;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    /**
+     * Creates a reporter that writes the metrics to a file when the run finishes
+     * and, if {@code port} is positive, serves them on {@code http://localhost:port/metrics}.
+     * Either option may be disabled by passing null or 0.
+     */
+    public MetricsTestReporter(String outputPath, int port) {
+        this.outputPath = outputPath;
+        if (port > 0) {
+            startServer(port);
+        }
+    }
+
+    public MetricsTestReporter(String outputPath) {
+        this(outputPath, 0);
+    }
+
+    @Override
+    public void testStarted(String testName) {
+        started.increment();
+    }
+
+    @Override
+    public void testFinished(TestResult result) {
+        if (result.isSkipped()) {
+            skipped.increment();
+            return;
+        }
+        if (result.isSuccess()) {
+            passed.increment();
+        } else {
+            failed.increment();
+        }
+        durations.computeIfAbsent(classNameOf(result.getTestName()), k -> new DurationHistogram())
+                 .record(result.getExecutionTimeMillis());
+    }
+
+    @Override
+    public void concurrencyChanged(int limit) {
+        concurrencyLimit = limit;
+    }
+
+    @Override
+    public void testRunFinished(int total, int passed, int failed, int skipped) {
+        if (outputPath != null) {
+            writeFile(outputPath);
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            // stop() leaves the executor it was given running
+            serverExecutor.shutdownNow();
+            serverExecutor = null;
+        }
+    }
+
+    /**
+     * Renders the current metrics in OpenMetrics text format.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(1024);
+        out.append("# TYPE stf_tests_started counter\n");
+        out.append("# HELP stf_tests_started Tests started.\n");
+        out.append("stf_tests_started_total ").append(started.sum()).append('\n');
+        out.append("# TYPE stf_tests_finished counter\n");
+        out.append("# HELP stf_tests_finished Tests finished, by result.\n");
+        out.append("stf_tests_finished_total{result=\"passed\"} ").append(passed.sum()).append('\n');
+        out.append("stf_tests_finished_total{result=\"failed\"} ").append(failed.sum()).append('\n');
+        out.append("stf_tests_finished_total{result=\"skipped\"} ").append(skipped.sum()).append('\n');
+        if (concurrencyLimit >= 0) {
+            out.append("# TYPE stf_concurrency_limit gauge\n");
+            out.append("# HELP stf_concurrency_limit Tests allowed to run at the same time by the adaptive controller.\n");
+            out.append("stf_concurrency_limit ").append(concurrencyLimit).append('\n');
+        }
+        out.append("# TYPE stf_test_duration_seconds histogram\n");
+        out.append("# HELP stf_test_duration_seconds Test execution time, by test class.\n");
+        for (Map.Entry<String, DurationHistogram> entry : new TreeMap<>(durations).entrySet()) {
+            entry.getValue().appendTo(out, escapeLabel(entry.getKey()));
+        }
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private void writeFile(String path) {
+        Path target = Paths.get(path).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(scrape());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Metrics written: " + path);
+        } catch (IOException e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    private void startServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            serverExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(serverExecutor);
+            server.start();
+            System.out.println("Metrics endpoint: http://localhost:" + server.getAddress().getPort() + "/metrics");
+        } catch (IOException e) {
+            System.err.println("Failed to start metrics endpoint: " + e.getMessage());
+        }
+    }
+
+    static String classNameOf(String testName) {
+        int dot = testName.indexOf('.');
+        return dot > 0 ? testName.substring(0, dot) : "TestClass";
+    }
+
+    static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Lock-free histogram of test durations with power-of-two millisecond buckets.
+     */
+    private static final class DurationHistogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+        private final LongAdder sumMillis = new LongAdder();
+
+        void record(long millis) {
+            int index = 0;
+            while (index < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[index]) {
+                index++;
+            }
+            buckets.incrementAndGet(index);
+            sumMillis.add(millis);
+        }
+
+        void appendTo(StringBuilder out, String className) {
+            long cumulative = 0;
+            for (int i = 0; i <= BUCKET_BOUNDS_MILLIS.length; i++) {
+                cumulative += buckets.get(i);
+                String le = i < BUCKET_BOUNDS_MILLIS.length ? String.valueOf(BUCKET_BOUNDS_MILLIS[i] / 1000.0) : "+Inf";
+                out.append("stf_test_duration_seconds_bucket{class=\"").append(className)
+                   .append("\",le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+            }
+            out.append("stf_test_duration_seconds_count{class=\"").append(className).append("\"} ")
+               .append(cumulative).append('\n');
+            out.append("stf_test_duration_seconds_sum{class=\"").append(className).append("\"} ")
+               .append(sumMillis.sum() / 1000.0).append('\n');
+        }
+    }
+}
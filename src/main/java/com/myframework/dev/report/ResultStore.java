@@ -0,0 +1,536 @@
+package com.myframework.dev.report;
+
+import com.myframework.dev.core.FailureDigest;
+import com.myframework.dev.core.TestMetrics;
+import com.myframework.dev.core.TestResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, columnar store of test results shared by the file reporters.
+ * <p>
+ * Status, duration and metrics are kept in primitive arrays, class and method
+ * names are interned to ids, and skip reasons, failure details and properties
+ * are serialized to a temporary file and read back only when a reporter asks
+ * for them. No {@link Throwable} or {@link TestResult} is retained, so memory
+ * stays small even for runs with millions of tests.
+ * <p>
+ * Failures are normalised with {@link FailureDigest}. The compacted stack trace
+ * of each distinct failure cause is stored once and shared by every test that
+ * failed with it; {@link #getFailureGroups()} tells how many tests that were.
+ * <p>
+ * The store is itself a reporter: placed before its readers in a composite
+ * reporter, it records every finished test. Readers {@link #retain()} it and
+ * {@link #release()} it when they are done; the temporary file is deleted when
+ * the last reader releases it.
+ */
+public class ResultStore implements TestReporter {
+
+    private static final long NO_DETAILS = -1;
+    private static final TestResult.Status[] STATUSES = TestResult.Status.values();
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final FileChannel details;
+    private final Path detailsFile;
+    private long detailsSize;
+    private int references;
+
+    private int size;
+    private byte[] status = new byte[256];
+    private long[] durations = new long[256];
+    private int[] classIds = new int[256];
+    private int[] methodIds = new int[256];
+    private long[] detailOffsets = new long[256];
+    private long[] metrics = new long[256 * 4];
+    private boolean[] hasMetrics = new boolean[256];
+    private int[] failureIds = new int[256];
+
+    private final List<FailureGroup> failureGroups = new ArrayList<>();
+    private final Map<String, Integer> failureGroupIds = new HashMap<>();
+
+    public ResultStore() {
+        try {
+            detailsFile = Files.createTempFile("stf-results", ".bin");
+            detailsFile.toFile().deleteOnExit();
+            details = FileChannel.open(detailsFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create result store", e);
+        }
+    }
+
+    @Override
+    public void testStarted(String testName) {
+    }
+
+    @Override
+    public void testFinished(TestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void testRunFinished(int total, int passed, int failed, int skipped) {
+    }
+
+    /**
+     * Appends a result to the store.
+     */
+    public synchronized void add(TestResult result) {
+        ensureCapacity(size + 1);
+        String testName = result.getTestName();
+        int dot = testName.indexOf('.');
+        status[size] = (byte) result.getStatus().ordinal();
+        durations[size] = result.getExecutionTimeMillis();
+        classIds[size] = intern(dot > 0 ? testName.substring(0, dot) : "TestClass");
+        methodIds[size] = intern(dot > 0 ? testName.substring(dot + 1) : testName);
+        TestMetrics testMetrics = result.getMetrics();
+        hasMetrics[size] = testMetrics != null;
+        if (testMetrics != null) {
+            metrics[size * 4] = testMetrics.getCpuTimeNanos();
+            metrics[size * 4 + 1] = testMetrics.getAllocatedBytes();
+            metrics[size * 4 + 2] = testMetrics.getGcCount();
+            metrics[size * 4 + 3] = testMetrics.getGcTimeMillis();
+        }
+        failureIds[size] = addFailure(result);
+        detailOffsets[size] = writeDetails(result);
+        size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the distinct failure causes in the order they were first seen.
+     */
+    public synchronized List<FailureGroup> getFailureGroups() {
+        return new ArrayList<>(failureGroups);
+    }
+
+    /**
+     * Registers a reader of this store.
+     */
+    public synchronized ResultStore retain() {
+        references++;
+        return this;
+    }
+
+    /**
+     * Unregisters a reader; the store is closed when no reader is left.
+     */
+    public synchronized void release() {
+        if (--references <= 0) {
+            close();
+        }
+    }
+
+    /**
+     * Returns a cursor over all results in the order they were added.
+     */
+    public synchronized Cursor cursor() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return new Cursor(rows);
+    }
+
+    /**
+     * Returns a cursor over all results grouped by test class, in the order each class
+     * was first seen and, within a class, in the order the results were added.
+     */
+    public synchronized Cursor cursorByClass() {
+        int classCount = names.size();
+        int[] firstSeen = new int[classCount];
+        Arrays.fill(firstSeen, -1);
+        int groups = 0;
+        int[] counts = new int[classCount];
+        for (int i = 0; i < size; i++) {
+            if (firstSeen[classIds[i]] < 0) {
+                firstSeen[classIds[i]] = groups++;
+            }
+            counts[classIds[i]]++;
+        }
+        int[] starts = new int[classCount];
+        int[] order = new int[groups];
+        for (int id = 0; id < classCount; id++) {
+            if (firstSeen[id] >= 0) {
+                order[firstSeen[id]] = id;
+            }
+        }
+        int next = 0;
+        for (int id : order) {
+            starts[id] = next;
+            next += counts[id];
+        }
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[starts[classIds[i]]++] = i;
+        }
+        return new Cursor(rows);
+    }
+
+    private synchronized void close() {
+        try {
+            details.close();
+            Files.deleteIfExists(detailsFile);
+        } catch (IOException e) {
+            System.err.println("Failed to delete result store: " + e.getMessage());
+        }
+    }
+
+    private int intern(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= status.length) {
+            return;
+        }
+        int capacity = Math.max(required, status.length * 2);
+        status = Arrays.copyOf(status, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        classIds = Arrays.copyOf(classIds, capacity);
+        methodIds = Arrays.copyOf(methodIds, capacity);
+        detailOffsets = Arrays.copyOf(detailOffsets, capacity);
+        metrics = Arrays.copyOf(metrics, capacity * 4);
+        hasMetrics = Arrays.copyOf(hasMetrics, capacity);
+        failureIds = Arrays.copyOf(failureIds, capacity);
+    }
+
+    private int addFailure(TestResult result) {
+        FailureDigest digest = result.getFailureDigest();
+        if (digest == null) {
+            return -1;
+        }
+        Integer id = failureGroupIds.get(digest.getFingerprint());
+        if (id == null) {
+            id = failureGroups.size();
+            failureGroups.add(new FailureGroup(digest, result.getTestName(), writeRecord(digest.getFrames())));
+            failureGroupIds.put(digest.getFingerprint(), id);
+        }
+        failureGroups.get(id).count++;
+        return id;
+    }
+
+    private long writeRecord(String value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // length placeholder
+            writeString(out, value);
+            out.flush();
+            return append(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write result details", e);
+        }
+    }
+
+    private long append(byte[] bytes) throws IOException {
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        record.putInt(0, record.capacity() - Integer.BYTES);
+        long offset = detailsSize;
+        while (record.hasRemaining()) {
+            details.write(record, offset + record.position());
+        }
+        detailsSize += record.capacity();
+        return offset;
+    }
+
+    private ByteBuffer readRecord(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        while (header.hasRemaining()) {
+            details.read(header, offset + header.position());
+        }
+        ByteBuffer record = ByteBuffer.allocate(header.getInt(0));
+        while (record.hasRemaining()) {
+            details.read(record, offset + Integer.BYTES + record.position());
+        }
+        record.flip();
+        return record;
+    }
+
+    private synchronized String readFrames(FailureGroup group) {
+        try {
+            return readString(readRecord(group.framesOffset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read result details", e);
+        }
+    }
+
+    private long writeDetails(TestResult result) {
+        FailureDigest failure = result.getFailureDigest();
+        if (result.getSkipReason() == null && failure == null && result.getProperties().isEmpty()
+                && result.getSystemOut() == null && result.getSystemErr() == null) {
+            return NO_DETAILS;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // length placeholder
+            writeString(out, result.getSkipReason());
+            writeString(out, failure != null ? failure.getMessage() : null);
+            writeString(out, result.getSystemOut());
+            writeString(out, result.getSystemErr());
+            out.writeInt(result.getProperties().size());
+            for (Map.Entry<String, String> property : result.getProperties().entrySet()) {
+                writeString(out, property.getKey());
+                writeString(out, property.getValue());
+            }
+            out.flush();
+            return append(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write result details", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private synchronized Details readDetails(long offset) {
+        if (offset == NO_DETAILS) {
+            return Details.NONE;
+        }
+        try {
+            ByteBuffer record = readRecord(offset);
+            Details result = new Details();
+            result.skipReason = readString(record);
+            result.failureMessage = readString(record);
+            result.systemOut = readString(record);
+            result.systemErr = readString(record);
+            int propertyCount = record.getInt();
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (int i = 0; i < propertyCount; i++) {
+                properties.put(readString(record), readString(record));
+            }
+            result.properties = Collections.unmodifiableMap(properties);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read result details", e);
+        }
+    }
+
+    private static final class Details {
+        static final Details NONE = new Details();
+
+        String skipReason;
+        String failureMessage;
+        String systemOut;
+        String systemErr;
+        Map<String, String> properties = Collections.emptyMap();
+    }
+
+    /**
+     * A distinct failure cause and the number of tests that failed with it.
+     */
+    public static final class FailureGroup {
+        private final String fingerprint;
+        private final String type;
+        private final String location;
+        private final String firstTestName;
+        private final long framesOffset;
+        private volatile int count;
+
+        private FailureGroup(FailureDigest digest, String firstTestName, long framesOffset) {
+            this.fingerprint = digest.getFingerprint();
+            this.type = digest.getType();
+            this.location = digest.getLocation();
+            this.firstTestName = firstTestName;
+            this.framesOffset = framesOffset;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns the topmost non-framework frame of the failure, or null.
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        public String getFirstTestName() {
+            return firstTestName;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Forward-only view over the stored results. Details are read from disk
+     * lazily, at most once per row.
+     */
+    public class Cursor {
+        private final int[] rows;
+        private int index = -1;
+        private int row;
+        private Details rowDetails;
+
+        private Cursor(int[] rows) {
+            this.rows = rows;
+        }
+
+        /**
+         * Moves to the next result and returns false when there are no more.
+         */
+        public boolean next() {
+            if (++index >= rows.length) {
+                return false;
+            }
+            row = rows[index];
+            rowDetails = null;
+            return true;
+        }
+
+        public String getClassName() {
+            synchronized (ResultStore.this) {
+                return names.get(classIds[row]);
+            }
+        }
+
+        public String getMethodName() {
+            synchronized (ResultStore.this) {
+                return names.get(methodIds[row]);
+            }
+        }
+
+        public String getTestName() {
+            return getClassName() + "." + getMethodName();
+        }
+
+        public TestResult.Status getStatus() {
+            return STATUSES[status[row]];
+        }
+
+        public boolean isSuccess() {
+            return getStatus() == TestResult.Status.PASSED;
+        }
+
+        public boolean isSkipped() {
+            return getStatus() == TestResult.Status.SKIPPED;
+        }
+
+        public long getExecutionTimeMillis() {
+            return durations[row];
+        }
+
+        /**
+         * Returns the resource usage of the test, or null if it was not measured.
+         */
+        public TestMetrics getMetrics() {
+            if (!hasMetrics[row]) {
+                return null;
+            }
+            int base = row * 4;
+            return new TestMetrics(metrics[base], metrics[base + 1], metrics[base + 2], metrics[base + 3]);
+        }
+
+        public String getSkipReason() {
+            return details().skipReason;
+        }
+
+        /**
+         * Returns the class name of the failure cause, or null if the test did not fail with an exception.
+         */
+        public String getFailureType() {
+            FailureGroup group = getFailureGroup();
+            return group != null ? group.type : null;
+        }
+
+        /**
+         * Returns the group of tests that failed with the same cause as this one, or null.
+         */
+        public FailureGroup getFailureGroup() {
+            synchronized (ResultStore.this) {
+                return failureIds[row] >= 0 ? failureGroups.get(failureIds[row]) : null;
+            }
+        }
+
+        public String getFailureMessage() {
+            return details().failureMessage;
+        }
+
+        /**
+         * Returns the compacted stack trace of the failure cause, or null. The message is
+         * this test's own; the frames are those of the first test that failed with the same cause.
+         */
+        public String getFailureTrace() {
+            FailureGroup group = getFailureGroup();
+            if (group == null) {
+                return null;
+            }
+            return FailureDigest.formatTrace(group.type, getFailureMessage(), readFrames(group));
+        }
+
+        public Map<String, String> getProperties() {
+            return details().properties;
+        }
+
+        /**
+         * Returns the captured standard output of a failed test, or null.
+         */
+        public String getSystemOut() {
+            return details().systemOut;
+        }
+
+        /**
+         * Returns the captured standard error of a failed test, or null.
+         */
+        public String getSystemErr() {
+            return details().systemErr;
+        }
+
+        private Details details() {
+            if (rowDetails == null) {
+                rowDetails = readDetails(detailOffsets[row]);
+            }
+            return rowDetails;
+        }
+    }
+}
@@ -1,13 +1,41 @@
 package com.myframework.dev.report;
 
+import com.myframework.dev.core.LifecyclePhase;
 import com.myframework.dev.core.TestResult;
 
 public interface TestReporter {
 
+    /**
+     * Called when the runner has discovered more tests to execute.
+     * The runner discovers tests class by class, so this may be called several times.
+     */
+    default void testsDiscovered(int count) {
+    }
+
     void testStarted(String testName);
 
     void testFinished(TestResult result);
 
+    /**
+     * Called on the executing thread when a lifecycle phase starts. The owner is the
+     * test name for per-test phases and the simple class name for @BeforeAll and @AfterAll.
+     */
+    default void phaseStarted(String owner, LifecyclePhase phase) {
+    }
+
+    /**
+     * Called on the executing thread when a lifecycle phase ends, whether or not it failed.
+     */
+    default void phaseFinished(String owner, LifecyclePhase phase) {
+    }
+
+    /**
+     * Called when the runner changes how many tests it runs at the same time,
+     * with {@code --parallel auto}. May be called from any thread.
+     */
+    default void concurrencyChanged(int limit) {
+    }
+
     void testRunFinished(int total, int passed, int failed, int skipped);
 
     // For backward compatibility
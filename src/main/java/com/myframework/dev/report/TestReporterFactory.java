@@ -1,5 +1,9 @@
 package com.myframework.dev.report;
 
+import com.myframework.dev.journal.JournalWriter;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +20,13 @@ public class TestReporterFactory {
         return new ConsoleTestReporter();
     }
 
+    /**
+     * Creates a console reporter that optionally prints per-test CPU, allocation and GC metrics.
+     */
+    public static TestReporter createConsoleReporter(boolean showMetrics) {
+        return new ConsoleTestReporter(showMetrics);
+    }
+
     /**
      * Creates an HTML reporter with default file path.
      */
@@ -44,6 +55,45 @@ public class TestReporterFactory {
         return new XmlTestReporter(filePath);
     }
 
+    /**
+     * Creates an OpenMetrics reporter. The metrics are written to {@code filePath}
+     * at the end of the run if it is not null, and served on localhost while the
+     * run is in progress if {@code port} is positive.
+     */
+    public static TestReporter createMetricsReporter(String filePath, int port) {
+        return new MetricsTestReporter(filePath, port);
+    }
+
+    /**
+     * Creates a reporter that serves a live progress dashboard on {@code http://localhost:port/}.
+     */
+    public static TestReporter createLiveReporter(int port) throws IOException {
+        return new LiveTestReporter(port);
+    }
+
+    /**
+     * Creates a console reporter that buffers its output and prints only failures,
+     * the summary and, in {@link BufferedConsoleTestReporter.Mode#PROGRESS} mode, a progress bar.
+     */
+    public static TestReporter createBufferedConsoleReporter(BufferedConsoleTestReporter.Mode mode) {
+        return new BufferedConsoleTestReporter(mode);
+    }
+
+    /**
+     * Creates a reporter that appends every result to a binary run journal,
+     * from which reports can be rendered later with {@code TestRunner render}.
+     */
+    public static TestReporter createJournalReporter(String filePath) throws IOException {
+        return new JournalWriter(Paths.get(filePath));
+    }
+
+    /**
+     * Creates a reporter that streams a Chrome/Perfetto trace-event timeline to the given file.
+     */
+    public static TestReporter createTraceReporter(String filePath) throws IOException {
+        return new TraceTestReporter(filePath);
+    }
+
     /**
      * Creates a composite reporter from multiple reporters.
      */
@@ -57,17 +107,41 @@ public class TestReporterFactory {
      */
     public static TestReporter createFromConfig(boolean generateHtml, boolean generateXml,
                                                 String htmlPath, String xmlPath) {
+        return createFromConfig(generateHtml, generateXml, htmlPath, xmlPath, false);
+    }
+
+    /**
+     * Creates reporters based on configuration flags, optionally showing
+     * per-test resource metrics on the console.
+     */
+    public static TestReporter createFromConfig(boolean generateHtml, boolean generateXml,
+                                                String htmlPath, String xmlPath, boolean showMetrics) {
+        return createFromConfig(generateHtml, generateXml, htmlPath, xmlPath, createConsoleReporter(showMetrics));
+    }
+
+    /**
+     * Creates reporters based on configuration flags with the given console reporter.
+     */
+    public static TestReporter createFromConfig(boolean generateHtml, boolean generateXml,
+                                                String htmlPath, String xmlPath, TestReporter consoleReporter) {
         List<TestReporter> reporters = new ArrayList<>();
-        reporters.add(createConsoleReporter());
+        reporters.add(consoleReporter);
+
+        // File reporters read from one shared store instead of each keeping every result
+        ResultStore store = null;
+        if (generateHtml || generateXml) {
+            store = new ResultStore();
+            reporters.add(store);
+        }
 
         if (generateHtml) {
             String htmlFile = htmlPath != null ? htmlPath : "test-report.html";
-            reporters.add(createHtmlReporter(htmlFile));
+            reporters.add(new HtmlTestReporter(htmlFile, store));
         }
 
         if (generateXml) {
             String xmlFile = xmlPath != null ? xmlPath : "test-report.xml";
-            reporters.add(createXmlReporter(xmlFile));
+            reporters.add(new XmlTestReporter(xmlFile, store));
         }
 
         if (reporters.size() == 1) {
@@ -0,0 +1,134 @@
+package com.myframework.dev.report;
+
+import com.myframework.dev.core.LifecyclePhase;
+import com.myframework.dev.core.TestResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the test schedule as a Chrome/Perfetto trace-event JSON file.
+ * Each executing thread gets its own track with spans for tests and their
+ * lifecycle phases. Each event is flushed to disk as it completes, so the
+ * trace of a run that is killed can still be opened, since the trace-event
+ * format accepts an array without its closing bracket. The file can be
+ * opened in chrome://tracing or https://ui.perfetto.dev.
+ */
+public class TraceTestReporter implements TestReporter {
+
+    private final String outputPath;
+    private final Writer writer;
+    private final long originNanos = System.nanoTime();
+    private final Map<String, long[]> runningTests = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Long>> phaseStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Set<Long> namedThreads = ConcurrentHashMap.newKeySet();
+    private boolean firstEvent = true;
+    private boolean closed;
+
+    public TraceTestReporter(String outputPath) throws IOException {
+        this.outputPath = outputPath != null ? outputPath : "test-trace.json";
+        this.writer = Files.newBufferedWriter(Paths.get(this.outputPath), StandardCharsets.UTF_8);
+        writer.write("[\n");
+    }
+
+    @Override
+    public void testStarted(String testName) {
+        runningTests.put(testName, new long[] {nowMicros(), Thread.currentThread().getId()});
+    }
+
+    @Override
+    public void testFinished(TestResult result) {
+        long[] started = runningTests.remove(result.getTestName());
+        if (started == null) {
+            return;
+        }
+        writeSpan(result.getTestName(), "test", started[1], started[0], nowMicros() - started[0],
+            "\"status\":\"" + result.getStatus() + "\"");
+    }
+
+    @Override
+    public void phaseStarted(String owner, LifecyclePhase phase) {
+        phaseStarts.get().push(nowMicros());
+    }
+
+    @Override
+    public void phaseFinished(String owner, LifecyclePhase phase) {
+        Deque<Long> starts = phaseStarts.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        long start = starts.pop();
+        writeSpan(phase.getDisplayName(), "phase", Thread.currentThread().getId(), start, nowMicros() - start,
+            "\"owner\":" + jsonString(owner));
+    }
+
+    @Override
+    public synchronized void testRunFinished(int total, int passed, int failed, int skipped) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.write("\n]\n");
+            writer.close();
+            System.out.println("Trace written: " + outputPath);
+        } catch (IOException e) {
+            System.err.println("Failed to write trace: " + e.getMessage());
+        }
+    }
+
+    private synchronized void writeSpan(String name, String category, long threadId, long startMicros,
+                                        long durationMicros, String args) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (namedThreads.add(threadId)) {
+                String threadName = threadId == Thread.currentThread().getId()
+                    ? Thread.currentThread().getName() : "thread-" + threadId;
+                writeEvent("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + threadId
+                    + ",\"args\":{\"name\":" + jsonString(threadName) + "}}");
+            }
+            writeEvent("{\"name\":" + jsonString(name) + ",\"cat\":\"" + category + "\",\"ph\":\"X\",\"ts\":"
+                + startMicros + ",\"dur\":" + durationMicros + ",\"pid\":1,\"tid\":" + threadId
+                + ",\"args\":{" + args + "}}");
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to write trace event: " + e.getMessage());
+        }
+    }
+
+    private void writeEvent(String json) throws IOException {
+        if (!firstEvent) {
+            writer.write(",\n");
+        }
+        firstEvent = false;
+        writer.write(json);
+    }
+
+    private long nowMicros() {
+        return (System.nanoTime() - originNanos) / 1000;
+    }
+
+    private static String jsonString(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append('"').toString();
+    }
+}
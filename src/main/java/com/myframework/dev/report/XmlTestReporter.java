@@ -1,5 +1,6 @@
 package com.myframework.dev.report;
 
+import com.myframework.dev.core.TestMetrics;
 import com.myframework.dev.core.TestResult;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -16,13 +17,9 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import java.io.File;
-import java.io.StringWriter;
-import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -32,12 +29,25 @@ import java.util.Map;
  */
 public class XmlTestReporter implements TestReporter {
 
-    private final List<TestResult> results = new ArrayList<>();
+    private final ResultStore store;
+    private final boolean ownsStore;
     private final String outputPath;
     private long startTime;
 
+    /**
+     * Creates a reporter that reads results from a shared store.
+     * The store must be placed before this reporter so that it records the results.
+     */
+    public XmlTestReporter(String outputPath, ResultStore store) {
+        this.outputPath = outputPath != null ? outputPath : "test-report.xml";
+        this.store = store.retain();
+        this.ownsStore = false;
+    }
+
     public XmlTestReporter(String outputPath) {
         this.outputPath = outputPath != null ? outputPath : "test-report.xml";
+        this.store = new ResultStore().retain();
+        this.ownsStore = true;
     }
 
     public XmlTestReporter() {
@@ -53,12 +63,18 @@ public class XmlTestReporter implements TestReporter {
 
     @Override
     public void testFinished(TestResult result) {
-        results.add(result);
+        if (ownsStore) {
+            store.add(result);
+        }
     }
 
     @Override
     public void testRunFinished(int total, int passed, int failed, int skipped) {
-        generateXmlReport(total, passed, failed, skipped);
+        try {
+            generateXmlReport(total, passed, failed, skipped);
+        } finally {
+            store.release();
+        }
     }
 
     private void generateXmlReport(int total, int passed, int failed, int skipped) {
@@ -80,72 +96,99 @@ public class XmlTestReporter implements TestReporter {
             
             doc.appendChild(testsuites);
 
-            // Group tests by class
-            Map<String, List<TestResult>> testsByClass = new HashMap<>();
-            for (TestResult result : results) {
-                String[] parts = result.getTestName().split("\\.");
-                String className = parts.length > 1 ? parts[0] : "TestClass";
-                testsByClass.computeIfAbsent(className, k -> new ArrayList<>()).add(result);
-            }
+            // Emit one testsuite per class; the cursor yields each class as a contiguous run
+            ResultStore.Cursor row = store.cursorByClass();
+            Element testsuite = null;
+            String className = null;
+            int classTests = 0;
+            int classFailures = 0;
+            int classSkipped = 0;
+            double classTime = 0;
+
+            while (row.next()) {
+                if (!row.getClassName().equals(className)) {
+                    if (testsuite != null) {
+                        finishTestSuite(testsuite, classTests, classFailures, classSkipped, classTime);
+                    }
+                    className = row.getClassName();
+                    classTests = 0;
+                    classFailures = 0;
+                    classSkipped = 0;
+                    classTime = 0;
+
+                    testsuite = doc.createElement("testsuite");
+                    testsuite.setAttribute("name", className);
+                    testsuite.setAttribute("timestamp",
+                        LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    testsuites.appendChild(testsuite);
+                }
 
-            // Create testsuite elements for each class
-            for (Map.Entry<String, List<TestResult>> entry : testsByClass.entrySet()) {
-                String className = entry.getKey();
-                List<TestResult> classResults = entry.getValue();
-                
-                int classTests = classResults.size();
-                int classFailures = 0;
-                int classSkipped = 0;
-                double classTime = 0;
-
-                Element testsuite = doc.createElement("testsuite");
-                testsuite.setAttribute("name", className);
-                testsuite.setAttribute("tests", String.valueOf(classTests));
-                testsuite.setAttribute("timestamp", 
-                    LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-
-                // Process each test in the class
-                for (TestResult result : classResults) {
-                    String[] parts = result.getTestName().split("\\.");
-                    String methodName = parts.length > 1 ? parts[1] : parts[0];
-                    
-                    double testTimeSeconds = result.getExecutionTimeMillis() / 1000.0;
-                    classTime += testTimeSeconds;
-
-                    Element testcase = doc.createElement("testcase");
-                    testcase.setAttribute("name", methodName);
-                    testcase.setAttribute("classname", className);
-                    testcase.setAttribute("time", String.valueOf(testTimeSeconds));
-
-                    if (result.isSkipped()) {
-                        classSkipped++;
-                        Element skippedElement = doc.createElement("skipped");
-                        if (result.getSkipReason() != null && !result.getSkipReason().isEmpty()) {
-                            skippedElement.setAttribute("message", result.getSkipReason());
-                        }
-                        testcase.appendChild(skippedElement);
-                    } else if (!result.isSuccess()) {
-                        classFailures++;
-                        Element failure = doc.createElement("failure");
-                        if (result.getFailureCause() != null) {
-                            String message = result.getFailureCause().getMessage();
-                            if (message != null) {
-                                failure.setAttribute("message", message);
-                            }
-                            failure.setAttribute("type", result.getFailureCause().getClass().getName());
-                            failure.setTextContent(getStackTrace(result.getFailureCause()));
-                        }
-                        testcase.appendChild(failure);
+                classTests++;
+                double testTimeSeconds = row.getExecutionTimeMillis() / 1000.0;
+                classTime += testTimeSeconds;
+
+                Element testcase = doc.createElement("testcase");
+                testcase.setAttribute("name", row.getMethodName());
+                testcase.setAttribute("classname", className);
+                testcase.setAttribute("time", String.valueOf(testTimeSeconds));
+
+                Map<String, String> testProperties = new LinkedHashMap<>();
+                TestMetrics metrics = row.getMetrics();
+                if (metrics != null) {
+                    testProperties.put("cpuTimeNanos", String.valueOf(metrics.getCpuTimeNanos()));
+                    testProperties.put("allocatedBytes", String.valueOf(metrics.getAllocatedBytes()));
+                    testProperties.put("gcCount", String.valueOf(metrics.getGcCount()));
+                    testProperties.put("gcTimeMillis", String.valueOf(metrics.getGcTimeMillis()));
+                }
+                testProperties.putAll(row.getProperties());
+                if (row.getFailureGroup() != null) {
+                    testProperties.put("failureFingerprint", row.getFailureGroup().getFingerprint());
+                }
+                if (!testProperties.isEmpty()) {
+                    Element properties = doc.createElement("properties");
+                    for (Map.Entry<String, String> property : testProperties.entrySet()) {
+                        Element element = doc.createElement("property");
+                        element.setAttribute("name", property.getKey());
+                        element.setAttribute("value", property.getValue());
+                        properties.appendChild(element);
                     }
+                    testcase.appendChild(properties);
+                }
 
-                    testsuite.appendChild(testcase);
+                if (row.isSkipped()) {
+                    classSkipped++;
+                    Element skippedElement = doc.createElement("skipped");
+                    if (row.getSkipReason() != null && !row.getSkipReason().isEmpty()) {
+                        skippedElement.setAttribute("message", row.getSkipReason());
+                    }
+                    testcase.appendChild(skippedElement);
+                } else if (!row.isSuccess()) {
+                    classFailures++;
+                    Element failure = doc.createElement("failure");
+                    if (row.getFailureType() != null) {
+                        if (row.getFailureMessage() != null) {
+                            failure.setAttribute("message", row.getFailureMessage());
+                        }
+                        failure.setAttribute("type", row.getFailureType());
+                        failure.setTextContent(row.getFailureTrace());
+                    }
+                    testcase.appendChild(failure);
+                }
+                if (row.getSystemOut() != null && !row.getSystemOut().isEmpty()) {
+                    Element systemOut = doc.createElement("system-out");
+                    systemOut.setTextContent(row.getSystemOut());
+                    testcase.appendChild(systemOut);
+                }
+                if (row.getSystemErr() != null && !row.getSystemErr().isEmpty()) {
+                    Element systemErr = doc.createElement("system-err");
+                    systemErr.setTextContent(row.getSystemErr());
+                    testcase.appendChild(systemErr);
                 }
 
-                testsuite.setAttribute("failures", String.valueOf(classFailures));
-                testsuite.setAttribute("skipped", String.valueOf(classSkipped));
-                testsuite.setAttribute("time", String.valueOf(classTime));
-                
-                testsuites.appendChild(testsuite);
+                testsuite.appendChild(testcase);
+            }
+            if (testsuite != null) {
+                finishTestSuite(testsuite, classTests, classFailures, classSkipped, classTime);
             }
 
             // Write XML to file
@@ -171,12 +214,11 @@ public class XmlTestReporter implements TestReporter {
         transformer.transform(source, result);
     }
 
-    private String getStackTrace(Throwable throwable) {
-        if (throwable == null) return "";
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        throwable.printStackTrace(pw);
-        return sw.toString();
+    private void finishTestSuite(Element testsuite, int tests, int failures, int skipped, double time) {
+        testsuite.setAttribute("tests", String.valueOf(tests));
+        testsuite.setAttribute("failures", String.valueOf(failures));
+        testsuite.setAttribute("skipped", String.valueOf(skipped));
+        testsuite.setAttribute("time", String.valueOf(time));
     }
 }
 
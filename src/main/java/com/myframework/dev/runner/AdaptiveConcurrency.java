@@ -0,0 +1,184 @@
+package com.myframework.dev.runner;
+
+import com.myframework.dev.report.TestReporter;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many tests run at the same time and adjusts the limit while the
+ * run is in progress, like a TCP congestion window: the limit grows by one
+ * while tests are waiting for a slot and the JVM has headroom, and is halved
+ * as soon as memory or garbage collection shows pressure.
+ * <p>
+ * Every {@link #SAMPLE_MILLIS} the controller reads from the management beans
+ * <ul>
+ *   <li>the heap occupancy after the last collection, which is what remains
+ *       live and therefore what more concurrent tests would add to;</li>
+ *   <li>the share of wall-clock time spent in garbage collection since the
+ *       previous sample;</li>
+ *   <li>the CPU load of the machine, or the load average divided by the
+ *       number of processors where the CPU load is not available.</li>
+ * </ul>
+ * Heap or GC pressure halves the limit; a busy CPU holds it, since more
+ * threads would not make CPU-bound tests finish sooner.
+ */
+final class AdaptiveConcurrency {
+
+    static final long SAMPLE_MILLIS = 500;
+    static final double HEAP_AFTER_GC_LIMIT = 0.80;
+    static final double GC_TIME_LIMIT = 0.10;
+    static final double CPU_LIMIT = 0.90;
+
+    /**
+     * A running test's slot, returned by {@link #enter()}.
+     */
+    interface Slot extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final int maxLimit;
+    private final TestReporter reporter;
+    private final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+        .toList();
+    private final ScheduledExecutorService sampler;
+
+    private int limit;
+    private int running;
+    private boolean waited;
+    private long lastSampleNanos = System.nanoTime();
+    private long lastGcMillis = gcTimeMillis();
+
+    /**
+     * Starts the controller with {@code initialLimit} slots; the limit stays between 1 and {@code maxLimit}.
+     */
+    AdaptiveConcurrency(int initialLimit, int maxLimit, TestReporter reporter) {
+        this.maxLimit = maxLimit;
+        this.limit = Math.min(initialLimit, maxLimit);
+        this.reporter = reporter;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "adaptive-concurrency");
+            thread.setDaemon(true);
+            return thread;
+        });
+        System.out.println("Adaptive concurrency: starting with " + limit + " test(s) at a time, at most " + maxLimit);
+        reporter.concurrencyChanged(limit);
+        sampler.scheduleAtFixedRate(this::sample, SAMPLE_MILLIS, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    int getMaxLimit() {
+        return maxLimit;
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Waits for a free slot. An interrupt does not end the wait, since the
+     * test must run or be reported anyway; it is restored for the test.
+     */
+    Slot enter() {
+        boolean interrupted = false;
+        synchronized (this) {
+            while (running >= limit) {
+                waited = true;
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            running++;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return this::leave;
+    }
+
+    private synchronized void leave() {
+        running--;
+        notifyAll();
+    }
+
+    void stop() {
+        sampler.shutdownNow();
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        long gcMillis = gcTimeMillis();
+        double gcTime = (gcMillis - lastGcMillis) / Math.max(1.0, TimeUnit.NANOSECONDS.toMillis(now - lastSampleNanos));
+        lastSampleNanos = now;
+        lastGcMillis = gcMillis;
+        double heapAfterGc = heapAfterGc();
+        double cpu = cpuLoad();
+
+        int previous;
+        int next;
+        synchronized (this) {
+            previous = limit;
+            if (heapAfterGc > HEAP_AFTER_GC_LIMIT || gcTime > GC_TIME_LIMIT) {
+                limit = Math.max(1, limit / 2);
+            } else if (waited && cpu < CPU_LIMIT) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            waited = false;
+            next = limit;
+            notifyAll();
+        }
+        if (next != previous) {
+            System.out.println(String.format(Locale.ROOT,
+                "Adaptive concurrency: %d -> %d (heap after GC %.0f%%, GC time %.0f%%, CPU %.0f%%)",
+                previous, next, heapAfterGc * 100, gcTime * 100, cpu * 100));
+            reporter.concurrencyChanged(next);
+        }
+    }
+
+    private long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Returns the part of the maximum heap still in use after the last collection of each heap pool.
+     */
+    private double heapAfterGc() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return (double) used / Runtime.getRuntime().maxMemory();
+    }
+
+    private double cpuLoad() {
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) osBean).getCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+        double loadAverage = osBean.getSystemLoadAverage();
+        return loadAverage >= 0 ? loadAverage / osBean.getAvailableProcessors() : 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.myframework.dev.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * An AppCDS (dynamic class data sharing) archive of the classes a test run
+ * loads: the framework, the JDK classes it uses such as the XML stack, and
+ * the test classes. Starting a JVM with the archive maps those classes from
+ * the archive instead of loading and verifying them again.
+ * <p>
+ * The archive is created by a training run in a child JVM with
+ * {@code -XX:ArchiveClassesAtExit} and used by relaunching the runner with
+ * {@code -XX:SharedArchiveFile}. A fingerprint of the JVM and of every
+ * classpath entry is stored next to the archive, so that an archive built
+ * for other classes or another JVM is detected as stale. The relaunch costs
+ * a second, short JVM start; scripts that start the runner often can pass the
+ * archive directly with the {@code @argfile} written next to it.
+ * <p>
+ * The JVM archives classes from JAR files only and refuses to write an archive
+ * when the classpath contains a non-empty directory, so such a classpath is
+ * rejected before the training run.
+ */
+final class CdsArchive {
+
+    /**
+     * Set on child JVMs so that they do not launch another child.
+     */
+    static final String CHILD_PROPERTY = "myframework.cds.child";
+
+    private final Path archive;
+    private final Path fingerprintFile;
+    private final Path argFile;
+
+    CdsArchive(Path archive) {
+        this.archive = archive;
+        this.fingerprintFile = Paths.get(archive + ".fingerprint");
+        this.argFile = Paths.get(archive + ".args");
+    }
+
+    static boolean isChild() {
+        return Boolean.getBoolean(CHILD_PROPERTY);
+    }
+
+    /**
+     * Returns true if the archive exists and was created for the current JVM and classpath.
+     */
+    boolean isFresh() {
+        if (!Files.isRegularFile(archive) || !Files.isRegularFile(fingerprintFile)) {
+            return false;
+        }
+        try {
+            return Files.readString(fingerprintFile).trim().equals(fingerprint());
+        } catch (IOException | UncheckedIOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs the runner with the given arguments in a child JVM that writes the
+     * archive when it exits, then records the fingerprint of the archive.
+     *
+     * @return the exit code of the child JVM
+     */
+    int train(List<String> runnerArgs) throws IOException, InterruptedException {
+        String directory = nonEmptyClasspathDirectory();
+        if (directory != null) {
+            throw new IOException("The classpath contains the directory " + directory
+                + ", from which the JVM cannot archive classes. Package the classes as a JAR.");
+        }
+        Files.deleteIfExists(archive);
+        Files.deleteIfExists(fingerprintFile);
+        Files.deleteIfExists(argFile);
+        // Classes that cannot be archived, such as JFR events, are reported as warnings; only show errors
+        int exitCode = launch(List.of("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds*=error"), runnerArgs);
+        if (Files.isRegularFile(archive)) {
+            Files.writeString(fingerprintFile, fingerprint() + System.lineSeparator());
+            Files.writeString(argFile, "-XX:SharedArchiveFile=" + archive.toAbsolutePath() + System.lineSeparator());
+            System.out.println("CDS archive written: " + archive + " (JVM options for direct use: @" + argFile + ")");
+        } else {
+            System.err.println("Failed to create CDS archive: " + archive + " was not written by the training run");
+        }
+        return exitCode;
+    }
+
+    /**
+     * Runs the runner with the given arguments in a child JVM that uses the archive.
+     *
+     * @return the exit code of the child JVM
+     */
+    int run(List<String> runnerArgs) throws IOException, InterruptedException {
+        return launch(List.of("-XX:SharedArchiveFile=" + archive), runnerArgs);
+    }
+
+    private int launch(List<String> cdsOptions, List<String> runnerArgs) throws IOException, InterruptedException {
+        List<String> jvmOptions = new ArrayList<>(cdsOptions);
+        jvmOptions.add("-D" + CHILD_PROPERTY + "=true");
+        return new ProcessBuilder(ChildJvm.command(jvmOptions, runnerArgs)).inheritIO().start().waitFor();
+    }
+
+    /**
+     * Returns the first non-empty directory on the classpath, or null if there is none.
+     */
+    private static String nonEmptyClasspathDirectory() throws IOException {
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> children = Files.list(path)) {
+                    if (children.findAny().isPresent()) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hashes the JVM version and the path, size and modification time of every
+     * JAR file on the classpath. Directories cannot be archived and are not hashed.
+     */
+    private static String fingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, System.getProperty("java.home"));
+        update(digest, System.getProperty("java.vm.version"));
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            update(digest, entry);
+            if (Files.isRegularFile(path)) {
+                updateFile(digest, path);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void updateFile(MessageDigest digest, Path file) {
+        try {
+            update(digest, file + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.myframework.dev.runner;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command lines for starting the runner in another JVM with the same Java
+ * installation, JVM options and classpath as this one.
+ */
+final class ChildJvm {
+
+    private ChildJvm() {
+    }
+
+    /**
+     * Returns the command that runs {@link TestRunner} with the given arguments.
+     *
+     * @param jvmOptions options added after the ones of this JVM
+     */
+    static List<String> command(List<String> jvmOptions, List<String> runnerArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // A second debugger or CDS option would conflict with the child's own
+            if (!option.startsWith("-XX:SharedArchiveFile") && !option.startsWith("-XX:ArchiveClassesAtExit")
+                    && !option.startsWith("-Xshare") && !option.startsWith("-agentlib:jdwp")) {
+                command.add(option);
+            }
+        }
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(TestRunner.class.getName());
+        command.addAll(runnerArgs);
+        return command;
+    }
+}
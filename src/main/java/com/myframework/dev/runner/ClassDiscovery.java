@@ -0,0 +1,132 @@
+package com.myframework.dev.runner;
+
+import com.myframework.dev.core.TestCase;
+import com.myframework.dev.core.TestScanner;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Predicate;
+
+/**
+ * Loads, scans and filters test classes on background threads ahead of their
+ * execution. At most {@code lookahead} classes are discovered but not yet
+ * taken, so discovery overlaps with the tests that are running without
+ * holding the test cases of a whole large catalogue in memory.
+ */
+final class ClassDiscovery implements AutoCloseable {
+
+    /**
+     * A class and its selected test cases, or the error that prevented loading it.
+     */
+    static final class DiscoveredClass {
+        final String className;
+        final Class<?> testClass;
+        final List<TestCase> testCases;
+        final Throwable failure;
+        /** The loader of an isolated class, or null. */
+        final IsolatedClassLoader loader;
+
+        private DiscoveredClass(String className, Class<?> testClass, List<TestCase> testCases, Throwable failure,
+                                IsolatedClassLoader loader) {
+            this.className = className;
+            this.testClass = testClass;
+            this.testCases = testCases;
+            this.failure = failure;
+            this.loader = loader;
+        }
+
+        /**
+         * Closes the loader of an isolated class once its tests have finished.
+         */
+        void close() {
+            closeLoader(className, loader);
+        }
+    }
+
+    private final TestScanner scanner;
+    private final Predicate<TestCase> selector;
+    private final TestRunner.Isolation isolation;
+    private final Iterator<String> remaining;
+    private final Queue<CompletableFuture<DiscoveredClass>> started = new ArrayDeque<>();
+    private final ExecutorService pool;
+
+    ClassDiscovery(TestScanner scanner, Predicate<TestCase> selector, TestRunner.Isolation isolation,
+                   Collection<String> classNames, int threads, int lookahead, ThreadFactory threadFactory) {
+        this.scanner = scanner;
+        this.selector = selector;
+        this.isolation = isolation;
+        this.remaining = classNames.iterator();
+        this.pool = Executors.newFixedThreadPool(threads, threadFactory);
+        for (int i = 0; i < lookahead && remaining.hasNext(); i++) {
+            startNext();
+        }
+    }
+
+    boolean hasNext() {
+        return !started.isEmpty();
+    }
+
+    /**
+     * Returns the next class in the given order, waiting until it has been
+     * discovered, and starts discovering one more.
+     */
+    DiscoveredClass next() throws InterruptedException {
+        CompletableFuture<DiscoveredClass> result = started.remove();
+        if (remaining.hasNext()) {
+            startNext();
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            // discover() does not throw
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void startNext() {
+        String className = remaining.next();
+        started.add(CompletableFuture.supplyAsync(() -> discover(scanner, selector, isolation, className), pool));
+    }
+
+    /**
+     * Loads a class, in its own {@link IsolatedClassLoader} unless {@code isolation}
+     * is {@link TestRunner.Isolation#NONE NONE}, and scans it for the selected tests.
+     */
+    static DiscoveredClass discover(TestScanner scanner, Predicate<TestCase> selector,
+                                    TestRunner.Isolation isolation, String className) {
+        IsolatedClassLoader loader = isolation != TestRunner.Isolation.NONE
+            ? new IsolatedClassLoader(className, isolation) : null;
+        try {
+            Class<?> testClass = loader != null ? Class.forName(className, true, loader) : Class.forName(className);
+            List<TestCase> testCases = scanner.scan(testClass).stream().filter(selector).toList();
+            return new DiscoveredClass(className, testClass, testCases, null, loader);
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            closeLoader(className, loader);
+            return new DiscoveredClass(className, null, List.of(), e, null);
+        }
+    }
+
+    private static void closeLoader(String className, IsolatedClassLoader loader) {
+        if (loader != null) {
+            try {
+                loader.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close class loader of " + className + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,370 @@
+package com.myframework.dev.runner;
+
+import com.myframework.dev.core.LifecyclePhase;
+import com.myframework.dev.core.TestCase;
+import com.myframework.dev.core.TestResult;
+import com.myframework.dev.journal.RunJournal;
+import com.myframework.dev.report.TestReporter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hands batches of tests to worker processes that connect over TCP and
+ * reports their results through the coordinator's reporter chain.
+ * <p>
+ * Workers pull: an idle worker asks for the next batch, so fast workers take
+ * more batches and all of them stay busy until the queue is empty, however
+ * test durations are spread. A batch is a whole test class when its tests
+ * share {@code @BeforeAll}/{@code @AfterAll} methods, a class instance or
+ * {@code @DependsOn} order, and otherwise up to {@link #BATCH_SIZE} of its
+ * tests. If a worker disconnects, the tests of its batch that have not
+ * reported a result are queued again for another worker. When a batch has
+ * lost {@link #MAX_WORKER_LOSSES} workers, the tests that were running at the
+ * time are reported as failed instead, since they may be what brings the
+ * worker down, and only the others are queued again.
+ */
+final class Coordinator implements AutoCloseable {
+
+    static final int BATCH_SIZE = 8;
+    static final int MAX_WORKER_LOSSES = 2;
+
+    private static final long POLL_MILLIS = 200;
+    private static final long WORKER_EXIT_SECONDS = 10;
+
+    private final ServerSocket server;
+    private final TestReporter reporter;
+    private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+    private final List<Process> localWorkers = new CopyOnWriteArrayList<>();
+    private final List<Thread> handlers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private volatile boolean closed;
+    private String abandonReason;
+
+    /**
+     * Starts listening for workers.
+     *
+     * @param loopbackOnly accept only workers on this machine
+     */
+    Coordinator(int port, boolean loopbackOnly, TestReporter reporter) throws IOException {
+        this.server = loopbackOnly
+            ? new ServerSocket(port, 0, InetAddress.getLoopbackAddress()) : new ServerSocket(port);
+        this.reporter = reporter;
+        Thread acceptor = new Thread(this::acceptWorkers, "test-coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Starts worker JVMs on this machine that connect to this coordinator.
+     * If all of them exit while tests are still queued, those tests are
+     * reported as failed instead of waiting for a worker that never comes.
+     *
+     * @param workerArgs arguments appended to {@code worker <loopback address>:<port>}
+     */
+    void startLocalWorkers(int count, List<String> workerArgs) throws IOException {
+        List<String> args = new ArrayList<>(List.of("worker",
+            InetAddress.getLoopbackAddress().getHostAddress() + ":" + getPort()));
+        args.addAll(workerArgs);
+        for (int i = 0; i < count; i++) {
+            Process process = new ProcessBuilder(ChildJvm.command(List.of(), args)).inheritIO().start();
+            localWorkers.add(process);
+            process.onExit().thenRun(this::abandonIfNoWorkers);
+        }
+    }
+
+    /**
+     * Queues the tests of one class for the workers.
+     *
+     * @param onResult receives each result, on the thread serving the worker that ran the test
+     * @param started  run once, when a worker takes the first batch of the class
+     * @return completed with true when all tests have reported a result and none failed
+     */
+    CompletableFuture<Boolean> submit(Class<?> testClass, List<TestCase> testCases, Consumer<TestResult> onResult,
+                                      Runnable started) {
+        boolean splittable = testCases.stream().allMatch(testCase -> testCase.getBeforeAllMethods().isEmpty()
+            && testCase.getAfterAllMethods().isEmpty() && !testCase.isPerClassInstance()
+            && testCase.getDependencies().isEmpty());
+        int batchSize = splittable ? BATCH_SIZE : testCases.size();
+        AtomicInteger taken = new AtomicInteger();
+        Runnable startedOnce = () -> {
+            if (taken.getAndIncrement() == 0) {
+                started.run();
+            }
+        };
+        List<CompletableFuture<Boolean>> outcomes = new ArrayList<>();
+        for (int from = 0; from < testCases.size(); from += batchSize) {
+            Batch batch = new Batch(testClass.getName(),
+                testCases.subList(from, Math.min(from + batchSize, testCases.size())), onResult, startedOnce);
+            outcomes.add(batch.outcome);
+            offer(batch);
+        }
+        return CompletableFuture.allOf(outcomes.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> outcomes.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * Tells idle workers to exit and waits until they have been told and local workers have exited.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WORKER_EXIT_SECONDS);
+        try {
+            for (Thread handler : handlers) {
+                handler.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+            for (Process process : localWorkers) {
+                if (!process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    process.destroy();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            localWorkers.forEach(Process::destroy);
+        }
+        try {
+            server.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close coordinator socket: " + e.getMessage());
+        }
+    }
+
+    private void acceptWorkers() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connected.incrementAndGet();
+                Thread handler = new Thread(() -> serve(socket), "test-worker-" + workerCount.incrementAndGet());
+                handler.setDaemon(true);
+                handlers.add(handler);
+                handler.start();
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("Failed to accept worker connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves one worker until it disconnects or the run is over.
+     */
+    private void serve(Socket socket) {
+        String worker = socket.getRemoteSocketAddress().toString();
+        Batch batch = null;
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                WorkProtocol.Message message = WorkProtocol.receive(in);
+                switch (message.type) {
+                    case WorkProtocol.HELLO:
+                        worker = message.strings().get(0);
+                        break;
+                    case WorkProtocol.REQUEST:
+                        batch = take();
+                        if (batch == null) {
+                            WorkProtocol.send(out, WorkProtocol.SHUTDOWN);
+                            return;
+                        }
+                        List<String> names = new ArrayList<>();
+                        names.add(batch.className);
+                        batch.pending.forEach(testCase -> names.add(testCase.getTestMethod().getName()));
+                        WorkProtocol.send(out, WorkProtocol.BATCH, WorkProtocol.strings(names));
+                        batch.started.run();
+                        break;
+                    case WorkProtocol.STARTED:
+                        String testName = message.strings().get(0);
+                        if (batch != null) {
+                            batch.running.add(testName);
+                        }
+                        reporter.testStarted(testName);
+                        break;
+                    case WorkProtocol.PHASE_STARTED:
+                    case WorkProtocol.PHASE_FINISHED:
+                        List<String> phase = message.strings();
+                        if (message.type == WorkProtocol.PHASE_STARTED) {
+                            reporter.phaseStarted(phase.get(0), LifecyclePhase.valueOf(phase.get(1)));
+                        } else {
+                            reporter.phaseFinished(phase.get(0), LifecyclePhase.valueOf(phase.get(1)));
+                        }
+                        break;
+                    case WorkProtocol.RESULT:
+                        if (batch != null) {
+                            batch.report(RunJournal.decodeResult(message.payload));
+                        }
+                        break;
+                    case WorkProtocol.DONE:
+                        if (batch != null) {
+                            batch.finish(message.payload.get() != 0, "Not run by worker " + worker);
+                            batch = null;
+                        }
+                        break;
+                    default:
+                        throw new IOException("Unexpected message of type " + message.type);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (batch != null) {
+                Batch lost = batch;
+                lost.pending.removeIf(testCase -> lost.reported.contains(testCase.getId()));
+                System.err.println("Warning: Lost worker " + worker + " while it ran " + lost.className + " ("
+                    + e + ").");
+                lost.requeueAfterLoss();
+            }
+        } finally {
+            connected.decrementAndGet();
+            abandonIfNoWorkers();
+        }
+    }
+
+    /**
+     * Returns the next batch, waiting until there is one, or null when the run is over.
+     */
+    private Batch take() throws IOException {
+        try {
+            while (!closed) {
+                Batch batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch;
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for tests", e);
+        }
+    }
+
+    private synchronized void offer(Batch batch) {
+        if (batch.pending.isEmpty()) {
+            batch.finish(true, null);
+        } else if (abandonReason != null) {
+            batch.finish(false, abandonReason);
+        } else {
+            queue.add(batch);
+        }
+    }
+
+    /**
+     * Fails the queued tests once all local workers have exited, since nothing would run them.
+     */
+    private synchronized void abandonIfNoWorkers() {
+        if (closed || abandonReason != null || localWorkers.isEmpty() || connected.get() > 0
+                || localWorkers.stream().anyMatch(Process::isAlive)) {
+            return;
+        }
+        abandonReason = "All local workers exited";
+        System.err.println("Failed to run remaining tests: " + abandonReason);
+        Batch batch;
+        while ((batch = queue.poll()) != null) {
+            batch.finish(false, abandonReason);
+        }
+    }
+
+    /**
+     * Tests of one class that are run together on one worker.
+     */
+    private final class Batch {
+        final String className;
+        final List<TestCase> pending;
+        final Consumer<TestResult> onResult;
+        final Runnable started;
+        final Set<String> reported = ConcurrentHashMap.newKeySet();
+        final Set<String> running = ConcurrentHashMap.newKeySet();
+        final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+        private volatile boolean passed = true;
+        private int losses;
+
+        Batch(String className, List<TestCase> pending, Consumer<TestResult> onResult, Runnable started) {
+            this.className = className;
+            this.pending = new ArrayList<>(pending);
+            this.onResult = onResult;
+            this.started = started;
+        }
+
+        void report(TestResult result) {
+            running.remove(result.getTestName());
+            if (reported.add(result.getTestId())) {
+                passed &= result.isSuccess() || result.isSkipped();
+                onResult.accept(result);
+            }
+        }
+
+        /**
+         * Queues the remaining tests again after their worker was lost. After
+         * {@link #MAX_WORKER_LOSSES} losses the tests that were running are
+         * reported as failed, or all remaining tests if none was running.
+         */
+        void requeueAfterLoss() {
+            if (++losses < MAX_WORKER_LOSSES) {
+                System.err.println("Warning: Queueing the " + pending.size() + " remaining test(s) of " + className
+                    + " again.");
+                running.clear();
+                offer(this);
+                return;
+            }
+            if (running.isEmpty()) {
+                System.err.println("Failed to run " + className + ": " + losses + " workers lost");
+                finish(false, "Worker lost " + losses + " times while running " + className);
+                return;
+            }
+            String reason = "Worker lost " + losses + " times while running this test";
+            for (TestCase testCase : pending) {
+                String testName = testCase.getTestClass().getSimpleName() + "." + testCase.getTestMethod().getName();
+                if (running.contains(testName)) {
+                    report(TestResult.failed(testName, new IllegalStateException(reason), 0)
+                        .withTestId(testCase.getId()));
+                }
+            }
+            pending.removeIf(testCase -> reported.contains(testCase.getId()));
+            running.clear();
+            losses = 0;
+            if (!pending.isEmpty()) {
+                System.err.println("Warning: Queueing the " + pending.size() + " remaining test(s) of " + className
+                    + " again.");
+            }
+            offer(this);
+        }
+
+        /**
+         * Completes the batch. Tests that did not report a result, for example
+         * because the worker could not load the class, are reported as failed.
+         */
+        void finish(boolean workerPassed, String missingReason) {
+            for (TestCase testCase : pending) {
+                if (!reported.contains(testCase.getId())) {
+                    String testName = testCase.getTestClass().getSimpleName() + "." + testCase.getTestMethod().getName();
+                    reporter.testStarted(testName);
+                    report(TestResult.failed(testName, new IllegalStateException(missingReason), 0)
+                        .withTestId(testCase.getId()));
+                }
+            }
+            outcome.complete(workerPassed && passed);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.myframework.dev.runner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Directed acyclic graph of tests or test classes declared with
+ * {@code @DependsOn}, ordered so that every node comes after the nodes it
+ * depends on. Independent nodes keep the order in which they were added.
+ */
+final class DependencyGraph {
+
+    private final Map<String, List<String>> upstream = new LinkedHashMap<>();
+    private boolean hasEdges;
+
+    void addNode(String node) {
+        upstream.putIfAbsent(node, new ArrayList<>());
+    }
+
+    /**
+     * Makes {@code node} depend on {@code dependency}. Both must have been added.
+     */
+    void addEdge(String node, String dependency) {
+        List<String> dependencies = upstream.get(node);
+        if (!dependencies.contains(dependency)) {
+            dependencies.add(dependency);
+            hasEdges = true;
+        }
+    }
+
+    boolean hasEdges() {
+        return hasEdges;
+    }
+
+    /**
+     * Returns true if {@code from} depends on {@code to}, directly or through other nodes.
+     */
+    boolean reaches(String from, String to) {
+        Deque<String> pending = new ArrayDeque<>(List.of(from));
+        Set<String> seen = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String node = pending.pop();
+            if (node.equals(to)) {
+                return true;
+            }
+            if (seen.add(node)) {
+                pending.addAll(getUpstream(node));
+            }
+        }
+        return false;
+    }
+
+    List<String> getUpstream(String node) {
+        return upstream.getOrDefault(node, Collections.emptyList());
+    }
+
+    /**
+     * Returns the nodes in dependency order. Nodes on a cycle, and nodes that
+     * depend on one, are left out.
+     */
+    List<String> order() {
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> remaining = new HashMap<>();
+        Map<String, List<String>> downstream = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : upstream.entrySet()) {
+            index.put(entry.getKey(), index.size());
+            remaining.put(entry.getKey(), entry.getValue().size());
+            for (String dependency : entry.getValue()) {
+                downstream.computeIfAbsent(dependency, d -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        PriorityQueue<String> ready = new PriorityQueue<>((a, b) -> Integer.compare(index.get(a), index.get(b)));
+        remaining.forEach((node, count) -> {
+            if (count == 0) {
+                ready.add(node);
+            }
+        });
+        List<String> order = new ArrayList<>(upstream.size());
+        while (!ready.isEmpty()) {
+            String node = ready.poll();
+            order.add(node);
+            for (String next : downstream.getOrDefault(node, Collections.emptyList())) {
+                if (remaining.merge(next, -1, Integer::sum) == 0) {
+                    ready.add(next);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Returns the nodes that {@link #order()} leaves out because of a cycle.
+     */
+    List<String> unordered(List<String> order) {
+        List<String> unordered = new ArrayList<>(upstream.keySet());
+        unordered.removeAll(order);
+        return unordered;
+    }
+}
@@ -0,0 +1,143 @@
+package com.myframework.dev.runner;
+
+import com.myframework.dev.annotations.SharedFixture;
+import com.myframework.dev.annotations.Test;
+import com.myframework.dev.core.TestCase;
+import com.myframework.dev.jfr.TestEvent;
+import com.myframework.dev.journal.RunJournal;
+import com.myframework.dev.report.TestReporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads one test class, and with {@link TestRunner.Isolation#ALL} also the
+ * application classes it uses, from the classpath again instead of asking the
+ * parent loader first. Each test class then has its own copy of their static
+ * fields, so classes that change the same statics can run at the same time.
+ * <p>
+ * Framework and JDK classes always come from the parent, so annotations,
+ * assertions and the runner are shared. So do the providers named by the
+ * test class's {@code @SharedFixture} fields and the types of those fields,
+ * so that a shared fixture is created once per run and can be assigned to
+ * the fields of every isolated class. The runner closes the loader when the
+ * class has finished; once nothing refers to its classes any more, they are
+ * unloaded.
+ */
+final class IsolatedClassLoader extends URLClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private static final List<String> FRAMEWORK_PACKAGES = List.of(
+        Test.class.getPackageName() + ".",
+        TestCase.class.getPackageName() + ".",
+        TestReporter.class.getPackageName() + ".",
+        TestRunner.class.getPackageName() + ".",
+        TestEvent.class.getPackageName() + ".",
+        RunJournal.class.getPackageName() + ".");
+
+    private static final URL[] CLASSPATH = classpath();
+
+    private final String testClassName;
+    private final boolean isolateAll;
+    private final Set<String> sharedFixtureClasses;
+
+    IsolatedClassLoader(String testClassName, TestRunner.Isolation isolation) {
+        this(testClassName, isolation == TestRunner.Isolation.ALL, sharedFixtureClasses(testClassName));
+    }
+
+    private IsolatedClassLoader(String testClassName, boolean isolateAll, Set<String> sharedFixtureClasses) {
+        super("isolated:" + testClassName, CLASSPATH, IsolatedClassLoader.class.getClassLoader());
+        this.testClassName = testClassName;
+        this.isolateAll = isolateAll;
+        this.sharedFixtureClasses = sharedFixtureClasses;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isIsolated(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                try {
+                    loaded = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    // Not on the classpath, for example a class of the JDK or of an agent
+                    return super.loadClass(name, resolve);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    private boolean isIsolated(String name) {
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+                || name.startsWith("sun.") || name.startsWith("com.sun.")) {
+            return false;
+        }
+        for (String frameworkPackage : FRAMEWORK_PACKAGES) {
+            if (name.startsWith(frameworkPackage) && name.indexOf('.', frameworkPackage.length()) < 0) {
+                return false;
+            }
+        }
+        if (sharedFixtureClasses.contains(name)) {
+            return false;
+        }
+        return isolateAll || name.equals(testClassName) || name.startsWith(testClassName + "$");
+    }
+
+    /**
+     * Returns the names of the providers and field types of the test class's
+     * {@code @SharedFixture} fields. They are read from an uninitialized copy
+     * of the class in a throwaway loader rather than in the parent, so that
+     * the test class is not kept in metaspace for the rest of the run.
+     */
+    private static Set<String> sharedFixtureClasses(String testClassName) {
+        Set<String> names = new HashSet<>();
+        try (IsolatedClassLoader throwaway = new IsolatedClassLoader(testClassName, true, Set.of())) {
+            Class<?> copy = Class.forName(testClassName, false, throwaway);
+            for (Class<?> type = copy; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    SharedFixture sharedFixture = field.getAnnotation(SharedFixture.class);
+                    if (sharedFixture != null) {
+                        names.add(sharedFixture.value().getName());
+                        names.add(field.getType().getName());
+                    }
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Reported when the isolated loader fails to load the class
+        } catch (IOException e) {
+            System.err.println("Failed to close class loader of " + testClassName + ": " + e.getMessage());
+        }
+        return names;
+    }
+
+    private static URL[] classpath() {
+        List<URL> urls = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            try {
+                urls.add(Paths.get(entry).toUri().toURL());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException("Invalid classpath entry " + entry, e);
+            }
+        }
+        return urls.toArray(new URL[0]);
+    }
+}
@@ -1,12 +1,35 @@
 package com.myframework.dev.runner;
 
+import com.myframework.dev.annotations.DependsOn;
+import com.myframework.dev.annotations.UsesResource;
 import com.myframework.dev.core.*;
+import com.myframework.dev.jfr.JfrRecording;
+import com.myframework.dev.jfr.TestClassEvent;
+import com.myframework.dev.jfr.TestPhaseEvent;
+import com.myframework.dev.jfr.TestRunEvent;
+import com.myframework.dev.journal.JournalRenderer;
+import com.myframework.dev.journal.JournalWriter;
 import com.myframework.dev.report.*;
 
 import java.awt.Desktop;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -14,10 +37,37 @@ import java.util.regex.Pattern;
  */
 public class TestRunner {
 
+    /**
+     * Which classes each test class gets its own copy of, see {@link #setIsolation}.
+     */
+    public enum Isolation {
+        /** All classes are loaded once, by the application class loader. */
+        NONE,
+        /** Each test class, with its nested classes, is loaded by its own class loader. */
+        TEST_CLASSES,
+        /** Each test class and the application classes it uses are loaded by its own class loader. */
+        ALL
+    }
+
+    private static final int DISCOVERY_THREADS = 2;
+    private static final int DISCOVERY_LOOKAHEAD = 16;
+    private static final String CYCLE_REASON = "Part of or depends on a @DependsOn cycle";
+    private static final int DEFAULT_COORDINATOR_PORT = 7420;
+    private static final int ADAPTIVE_MAX_PER_CPU = 4;
+
     private final TestScanner scanner;
     private final TestExecutor executor;
     private final TestReporter reporter;
-    private String filterPattern;
+    private Pattern filter;
+    private TagSelection selection;
+    private Map<String, TestResult> resumedResults = Collections.emptyMap();
+    private int parallelism = 1;
+    private boolean adaptive;
+    private AdaptiveConcurrency concurrency;
+    private final ResourceLocks resourceLocks = new ResourceLocks();
+    private Coordinator coordinator;
+    private Isolation isolation = Isolation.NONE;
+    private RunTotals lastRunTotals;
 
     public TestRunner(TestScanner scanner, TestExecutor executor, TestReporter reporter) {
         this.scanner = scanner;
@@ -26,94 +76,571 @@ public class TestRunner {
     }
 
     public void setFilterPattern(String filterPattern) {
-        this.filterPattern = filterPattern;
+        this.filter = filterPattern != null && !filterPattern.isEmpty()
+            ? Pattern.compile(filterPattern, Pattern.CASE_INSENSITIVE) : null;
+    }
+
+    /**
+     * Runs only the tests whose {@code @Tag}s match the given selection.
+     */
+    public void setSelection(TagSelection selection) {
+        this.selection = selection;
+    }
+
+    /**
+     * Sets results of an earlier, interrupted run keyed by {@link TestCase#getId()}.
+     * Those tests are not executed again; their results are reported and counted as recorded.
+     */
+    public void setResumedResults(Map<String, TestResult> resumedResults) {
+        this.resumedResults = resumedResults;
+    }
+
+    /**
+     * Sets how many test classes run at the same time. Tests that declare
+     * conflicting {@code @UsesResource} locks still run one after another.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        this.adaptive = false;
+    }
+
+    /**
+     * Lets the runner choose how many tests run at the same time, up to
+     * {@code maxParallelism}, from CPU load, heap occupancy after GC and GC
+     * time. See {@link AdaptiveConcurrency}.
+     */
+    public void setAdaptiveParallelism(int maxParallelism) {
+        this.parallelism = maxParallelism;
+        this.adaptive = true;
+    }
+
+    /**
+     * Loads every test class in a class loader of its own, so that classes
+     * with conflicting static state can run at the same time. Framework and
+     * JDK classes are shared; each loader is closed when its class has finished.
+     */
+    public void setIsolation(Isolation isolation) {
+        this.isolation = isolation;
+    }
+
+    /**
+     * Runs the tests on the workers of the given coordinator instead of in this JVM.
+     */
+    void setCoordinator(Coordinator coordinator) {
+        this.coordinator = coordinator;
     }
 
     public void run(String... testClassNames) {
-        int total = 0;
-        int passed = 0;
-        int failed = 0;
-        int skipped = 0;
+        RunTotals totals = new RunTotals();
+        Set<String> classNames = new LinkedHashSet<>(Arrays.asList(testClassNames));
 
-        for (String className : testClassNames) {
-            try {
-                Class<?> clazz = Class.forName(className);
-                List<TestCase> testCases = scanner.scan(clazz);
-
-                // Filter tests by pattern if specified
-                if (filterPattern != null && !filterPattern.isEmpty()) {
-                    Pattern pattern = Pattern.compile(filterPattern, Pattern.CASE_INSENSITIVE);
-                    testCases = testCases.stream()
-                        .filter(tc -> pattern.matcher(tc.getTestMethod().getName()).find() ||
-                                     pattern.matcher(tc.getTestClass().getSimpleName() + "." + tc.getTestMethod().getName()).find())
-                        .toList();
+        TestRunEvent runEvent = new TestRunEvent();
+        runEvent.begin();
+        ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(parallelism, classNames.size())), daemonThreads("test-runner"));
+        if (adaptive) {
+            concurrency = new AdaptiveConcurrency(Runtime.getRuntime().availableProcessors(), parallelism, reporter);
+        }
+        try (ClassDiscovery discovery = new ClassDiscovery(scanner, this::isSelected, isolation, classNames,
+                DISCOVERY_THREADS, DISCOVERY_LOOKAHEAD, daemonThreads("test-discovery"))) {
+            scheduleClasses(discovery, classNames, pool, totals);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+            if (concurrency != null) {
+                concurrency.stop();
+                concurrency = null;
+            }
+            SharedFixtures.getDefault().closeAll();
+        }
+
+        runEvent.end();
+        if (runEvent.shouldCommit()) {
+            runEvent.classes = totals.classes;
+            runEvent.total = totals.total;
+            runEvent.passed = totals.passed;
+            runEvent.failed = totals.failed;
+            runEvent.skipped = totals.skipped;
+            runEvent.commit();
+        }
+        lastRunTotals = totals;
+        reporter.testRunFinished(totals.total, totals.passed, totals.failed, totals.skipped);
+    }
+
+    /**
+     * Hands each class to the pool, or to the coordinator's workers, as soon
+     * as it has been discovered and the classes it depends on have finished,
+     * so the first tests run while later classes are still being loaded. At
+     * most {@link #DISCOVERY_LOOKAHEAD} ready classes wait for a free thread
+     * or worker; discovery pauses until one starts.
+     */
+    private void scheduleClasses(ClassDiscovery discovery, Set<String> classNames, ExecutorService pool,
+                                 RunTotals totals) throws InterruptedException {
+        DependencyGraph graph = new DependencyGraph();
+        Map<String, CompletableFuture<Boolean>> outcomes = new HashMap<>();
+        for (String className : classNames) {
+            graph.addNode(className);
+            outcomes.put(className, new CompletableFuture<>());
+        }
+        Semaphore waiting = new Semaphore(DISCOVERY_LOOKAHEAD);
+        while (discovery.hasNext()) {
+            waiting.acquire();
+            ClassDiscovery.DiscoveredClass discovered = discovery.next();
+            String className = discovered.className;
+
+            // Edges are added as classes are discovered; one that would close a cycle skips the class
+            boolean cycle = false;
+            for (String dependency : dependenciesOf(discovered, classNames)) {
+                if (graph.reaches(dependency, className)) {
+                    cycle = true;
+                } else {
+                    graph.addEdge(className, dependency);
+                }
+            }
+            List<String> upstream = List.copyOf(graph.getUpstream(className));
+            CompletableFuture<?>[] upstreamOutcomes = upstream.stream()
+                .map(outcomes::get)
+                .toArray(CompletableFuture[]::new);
+            boolean ready = Arrays.stream(upstreamOutcomes).allMatch(CompletableFuture::isDone);
+            if (!ready) {
+                waiting.release();
+            }
+            String cycleReason = cycle ? CYCLE_REASON : null;
+            CompletableFuture.allOf(upstreamOutcomes).whenCompleteAsync((ignored, failure) -> {
+                AtomicBoolean released = new AtomicBoolean(!ready);
+                Runnable started = () -> {
+                    if (!released.getAndSet(true)) {
+                        waiting.release();
+                    }
+                };
+                CompletableFuture<Boolean> outcome = outcomes.get(className);
+                outcome.whenComplete((passed, error) -> discovered.close());
+                try {
+                    String skipReason = cycleReason != null ? cycleReason
+                        : blockingReason(upstream, name -> outcomes.get(name).getNow(false));
+                    if (coordinator != null && skipReason == null && discovered.testClass != null) {
+                        distribute(discovered, totals, started).whenComplete((passed, error) ->
+                            outcome.complete(error == null && passed));
+                    } else {
+                        started.run();
+                        outcome.complete(runClassInContext(discovered, totals, skipReason));
+                    }
+                } catch (RuntimeException | Error e) {
+                    System.err.println("Failed to run test class " + className + ": " + e);
+                    started.run();
+                    outcome.complete(false);
                 }
+            }, pool);
+        }
+        CompletableFuture.allOf(outcomes.values().toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Queues the tests of a class for the coordinator's workers and reports
+     * their results as they arrive. Tests recorded in a resumed run are
+     * reported here instead.
+     *
+     * @param started run when a worker takes the class
+     * @return completed with true once all tests have finished and none failed
+     */
+    private CompletableFuture<Boolean> distribute(ClassDiscovery.DiscoveredClass discovered, RunTotals totals,
+                                                  Runnable started) {
+        if (discovered.testCases.isEmpty()) {
+            started.run();
+            return CompletableFuture.completedFuture(true);
+        }
+        totals.addClass();
+        reporter.testsDiscovered(discovered.testCases.size());
+        boolean resumedPassed = true;
+        List<TestCase> pending = new ArrayList<>();
+        for (TestCase testCase : discovered.testCases) {
+            if (resumedResults.containsKey(testCase.getId())) {
+                TestResult result = runTest(testCase, null, resourceLocks, totals);
+                resumedPassed &= result.isSuccess() || result.isSkipped();
+            } else {
+                pending.add(testCase);
+            }
+        }
+        if (pending.isEmpty()) {
+            started.run();
+            return CompletableFuture.completedFuture(resumedPassed);
+        }
+        boolean passed = resumedPassed;
+        return coordinator.submit(discovered.testClass, pending, result -> {
+            reporter.testFinished(result);
+            totals.add(result);
+        }, started).thenApply(workersPassed -> workersPassed && passed);
+    }
+
+    /**
+     * Runs the named tests of one class for a coordinator, see {@link Worker}.
+     *
+     * @return true if no test failed
+     */
+    boolean runBatch(String className, Set<String> methodNames) {
+        ClassDiscovery.DiscoveredClass discovered = ClassDiscovery.discover(scanner,
+            testCase -> methodNames.contains(testCase.getTestMethod().getName()), isolation, className);
+        try {
+            return runClassInContext(discovered, new RunTotals(), null);
+        } finally {
+            discovered.close();
+        }
+    }
+
+    /**
+     * Runs a class with its isolated class loader, if it has one, as the context class loader of the thread.
+     */
+    private boolean runClassInContext(ClassDiscovery.DiscoveredClass discovered, RunTotals totals, String skipReason) {
+        if (discovered.loader == null) {
+            return runClass(discovered, totals, skipReason);
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(discovered.loader);
+        try {
+            return runClass(discovered, totals, skipReason);
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    /**
+     * Returns the classes of the run named by the class-level {@code @DependsOn} of a discovered class.
+     */
+    private static List<String> dependenciesOf(ClassDiscovery.DiscoveredClass discovered, Set<String> classNames) {
+        DependsOn dependsOn = discovered.testClass != null ? discovered.testClass.getAnnotation(DependsOn.class) : null;
+        if (dependsOn == null) {
+            return List.of();
+        }
+        List<String> dependencies = new ArrayList<>();
+        for (String dependency : dependsOn.value()) {
+            String match = classNames.stream()
+                .filter(name -> !name.equals(discovered.className))
+                .filter(name -> name.equals(dependency) || name.endsWith("." + dependency) || name.endsWith("$" + dependency))
+                .findFirst()
+                .orElse(null);
+            if (match != null) {
+                dependencies.add(match);
+            } else {
+                System.err.println("Warning: @DependsOn on " + discovered.testClass.getSimpleName() + " names "
+                    + dependency + ", which is not another test class of this run. Ignoring.");
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Returns why a node must be skipped, or null if all of its dependencies passed.
+     */
+    private static String blockingReason(List<String> upstream, Function<String, Boolean> passed) {
+        for (String dependency : upstream) {
+            if (!Boolean.TRUE.equals(passed.apply(dependency))) {
+                return "Depends on " + dependency + ", which did not pass";
+            }
+        }
+        return null;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs the tests of one class, or reports them all as skipped if {@code skipReason} is not null.
+     *
+     * @return true if no test of the class failed and the class was not skipped
+     */
+    private boolean runClass(ClassDiscovery.DiscoveredClass discovered, RunTotals totals, String skipReason) {
+        if (discovered.testClass == null) {
+            if (discovered.failure instanceof ClassNotFoundException) {
+                System.out.println("Test class not found: " + discovered.className);
+            } else {
+                System.err.println("Failed to load test class " + discovered.className + ": " + discovered.failure);
+            }
+            return false;
+        }
+        Class<?> clazz = discovered.testClass;
+        List<TestCase> testCases = discovered.testCases;
+        if (testCases.isEmpty()) {
+            return skipReason == null;
+        }
+        totals.addClass();
+        reporter.testsDiscovered(testCases.size());
+        if (skipReason != null) {
+            for (TestCase testCase : testCases) {
+                runTest(testCase, skipReason, resourceLocks, totals);
+            }
+            return false;
+        }
+        TestClassEvent classEvent = new TestClassEvent();
+        classEvent.begin();
+        boolean pending = testCases.stream().anyMatch(tc -> !resumedResults.containsKey(tc.getId()));
+        SortedMap<String, UsesResource.Mode> classResources = pending
+            ? classLeaseResources(testCases) : Collections.emptySortedMap();
+
+        if (pending) {
+            try {
+                SharedFixtures.getDefault().injectStatic(clazz);
+            } catch (Exception e) {
+                System.err.println("Failed to inject shared fixtures into " + clazz.getSimpleName() + ": " + e.getMessage());
+            }
+        }
 
-                if (testCases.isEmpty()) {
-                    continue;
+        // The resources of the class and its tests stay locked from @BeforeAll to @AfterAll
+        boolean passed;
+        ResourceLocks.Lease classLease = resourceLocks.acquire(classResources);
+        try {
+            // Run @BeforeAll methods once per class
+            Set<Class<?>> classesProcessed = new HashSet<>();
+            for (TestCase testCase : testCases) {
+                if (pending && !classesProcessed.contains(testCase.getTestClass())) {
+                    runBeforeAllMethods(testCase);
+                    classesProcessed.add(testCase.getTestClass());
                 }
+            }
 
-                // Run @BeforeAll methods once per class
-                Set<Class<?>> classesProcessed = new HashSet<>();
-                for (TestCase testCase : testCases) {
-                    if (!classesProcessed.contains(testCase.getTestClass())) {
-                        runBeforeAllMethods(testCase);
-                        classesProcessed.add(testCase.getTestClass());
-                    }
+            passed = runTests(testCases, new ResourceLocks(), totals);
+
+            // Run @AfterAll methods once per class
+            classesProcessed.clear();
+            for (TestCase testCase : testCases) {
+                if (pending && !classesProcessed.contains(testCase.getTestClass())) {
+                    runAfterAllMethods(testCase);
+                    classesProcessed.add(testCase.getTestClass());
                 }
+            }
+        } finally {
+            classLease.close();
+        }
+        executor.releaseClassInstance(clazz);
 
-                // Run tests
-                for (TestCase testCase : testCases) {
-                    total++;
-                    TestResult result = executor.execute(testCase, reporter);
-                    reporter.testFinished(result);
+        classEvent.end();
+        if (classEvent.shouldCommit()) {
+            classEvent.testClass = clazz.getName();
+            classEvent.tests = testCases.size();
+            classEvent.commit();
+        }
+        return passed;
+    }
 
-                    if (result.isSkipped()) {
-                        skipped++;
-                    } else if (result.isSuccess()) {
-                        passed++;
-                    } else {
-                        failed++;
-                    }
+    /**
+     * Returns the resources that any test of a class uses, each in the
+     * strongest mode a test needs. The class locks all of them at once, in
+     * name order, so it never waits for a lock while it holds another one.
+     */
+    private static SortedMap<String, UsesResource.Mode> classLeaseResources(List<TestCase> testCases) {
+        SortedMap<String, UsesResource.Mode> resources = new TreeMap<>();
+        for (TestCase testCase : testCases) {
+            testCase.getResources().forEach((name, mode) -> resources.merge(name, mode,
+                (a, b) -> a == UsesResource.Mode.WRITE ? a : b));
+        }
+        return resources;
+    }
+
+    /**
+     * Returns true if the test matches {@code --select} and {@code --filter}. The
+     * filter matches either the method name or {@code Class.method}; both are
+     * checked on the same string, the method name as a region of it.
+     */
+    private boolean isSelected(TestCase testCase) {
+        if (selection != null && !selection.matches(testCase)) {
+            return false;
+        }
+        if (filter == null) {
+            return true;
+        }
+        String method = testCase.getTestMethod().getName();
+        String qualified = testCase.getTestClass().getSimpleName() + "." + method;
+        Matcher matcher = filter.matcher(qualified);
+        return matcher.find() || matcher.region(qualified.length() - method.length(), qualified.length()).find();
+    }
+
+    /**
+     * Runs the tests of a class in {@code @DependsOn} order. With {@code --parallel},
+     * tests of a class that declares dependencies run as soon as the tests they
+     * depend on have finished, so independent branches run at the same time.
+     *
+     * @param testLocks locks that order the tests of the class among themselves
+     * @return true if no test failed
+     */
+    private boolean runTests(List<TestCase> testCases, ResourceLocks testLocks, RunTotals totals) {
+        DependencyGraph graph = new DependencyGraph();
+        Map<String, TestCase> byName = new LinkedHashMap<>();
+        for (TestCase testCase : testCases) {
+            graph.addNode(testCase.getTestMethod().getName());
+            byName.put(testCase.getTestMethod().getName(), testCase);
+        }
+        for (TestCase testCase : testCases) {
+            for (String dependency : testCase.getDependencies()) {
+                // Dependencies excluded by --filter are not waited for
+                if (byName.containsKey(dependency)) {
+                    graph.addEdge(testCase.getTestMethod().getName(), dependency);
                 }
+            }
+        }
 
-                // Run @AfterAll methods once per class
-                classesProcessed.clear();
-                for (TestCase testCase : testCases) {
-                    if (!classesProcessed.contains(testCase.getTestClass())) {
-                        runAfterAllMethods(testCase);
-                        classesProcessed.add(testCase.getTestClass());
-                    }
+        List<String> order = graph.order();
+        Map<String, TestResult> results = new ConcurrentHashMap<>();
+        Function<String, Boolean> passed = name -> {
+            TestResult result = results.get(name);
+            return result != null && result.isSuccess();
+        };
+        if (parallelism > 1 && graph.hasEdges()) {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, testCases.size()),
+                daemonThreads("test-runner-" + testCases.get(0).getTestClass().getSimpleName()));
+            try {
+                Map<String, CompletableFuture<?>> futures = new HashMap<>();
+                for (String name : order) {
+                    CompletableFuture<?>[] upstream = graph.getUpstream(name).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                    futures.put(name, CompletableFuture.allOf(upstream).handleAsync((ignored, failure) ->
+                        results.put(name, runTest(byName.get(name), blockingReason(graph.getUpstream(name), passed),
+                            testLocks, totals)), pool));
                 }
+                CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                System.err.println("Failed to run tests of " + testCases.get(0).getTestClass().getSimpleName()
+                    + ": " + e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        } else {
+            for (String name : order) {
+                results.put(name, runTest(byName.get(name), blockingReason(graph.getUpstream(name), passed),
+                    testLocks, totals));
+            }
+        }
+        for (String name : graph.unordered(order)) {
+            results.put(name, runTest(byName.get(name), CYCLE_REASON, testLocks, totals));
+        }
+        return results.values().stream().allMatch(result -> result.isSuccess() || result.isSkipped());
+    }
 
-            } catch (ClassNotFoundException e) {
-                System.out.println("Test class not found: " + className);
+    /**
+     * Runs one test, reports its recorded result if the run is resumed, or
+     * reports it as skipped if {@code skipReason} is not null. The class holds
+     * the resources of its tests, so {@code testLocks} only keeps the tests of
+     * the class from using a resource against its mode at the same time.
+     */
+    private TestResult runTest(TestCase testCase, String skipReason, ResourceLocks testLocks, RunTotals totals) {
+        TestResult result = resumedResults.get(testCase.getId());
+        if (result != null) {
+            reporter.testStarted(result.getTestName());
+        } else if (skipReason != null) {
+            String testName = testCase.getTestClass().getSimpleName() + "." + testCase.getTestMethod().getName();
+            reporter.testStarted(testName);
+            result = TestResult.skipped(testName, skipReason).withTestId(testCase.getId());
+        } else if (testCase.isDisabled()) {
+            result = executor.execute(testCase, reporter);
+        } else {
+            // Locks first, so that a test waiting for a resource does not hold a slot
+            ResourceLocks.Lease lease = testLocks.acquire(testCase.getResources());
+            try {
+                AdaptiveConcurrency.Slot slot = concurrency != null ? concurrency.enter() : null;
+                try {
+                    result = executor.execute(testCase, reporter);
+                } finally {
+                    if (slot != null) {
+                        slot.close();
+                    }
+                }
+            } finally {
+                lease.close();
             }
         }
+        reporter.testFinished(result);
+        totals.add(result);
+        return result;
+    }
+
+    /**
+     * Counts of a run, updated by the threads running test classes.
+     */
+    private static final class RunTotals {
+        private int classes;
+        private int total;
+        private int passed;
+        private int failed;
+        private int skipped;
 
-        reporter.testRunFinished(total, passed, failed, skipped);
+        synchronized void addClass() {
+            classes++;
+        }
+
+        synchronized void add(TestResult result) {
+            total++;
+            if (result.isSkipped()) {
+                skipped++;
+            } else if (result.isSuccess()) {
+                passed++;
+            } else {
+                failed++;
+            }
+        }
     }
 
     private void runBeforeAllMethods(TestCase testCase) {
+        if (testCase.getBeforeAllMethods().isEmpty()) {
+            return;
+        }
+        String owner = testCase.getTestClass().getSimpleName();
+        TestPhaseEvent event = new TestPhaseEvent();
+        event.begin();
+        reporter.phaseStarted(owner, LifecyclePhase.BEFORE_ALL);
         for (Method method : testCase.getBeforeAllMethods()) {
             try {
                 method.setAccessible(true);
-                method.invoke(null); // static method
+                method.invoke(lifecycleTarget(method, testCase));
             } catch (Exception e) {
                 System.err.println("Failed to run @BeforeAll method: " + method.getName() + " - " + e.getMessage());
             }
         }
+        reporter.phaseFinished(owner, LifecyclePhase.BEFORE_ALL);
+        commitPhaseEvent(event, owner, LifecyclePhase.BEFORE_ALL);
     }
 
     private void runAfterAllMethods(TestCase testCase) {
+        if (testCase.getAfterAllMethods().isEmpty()) {
+            return;
+        }
+        String owner = testCase.getTestClass().getSimpleName();
+        TestPhaseEvent event = new TestPhaseEvent();
+        event.begin();
+        reporter.phaseStarted(owner, LifecyclePhase.AFTER_ALL);
         for (Method method : testCase.getAfterAllMethods()) {
             try {
                 method.setAccessible(true);
-                method.invoke(null); // static method
+                method.invoke(lifecycleTarget(method, testCase));
             } catch (Exception e) {
                 System.err.println("Failed to run @AfterAll method: " + method.getName() + " - " + e.getMessage());
             }
         }
+        reporter.phaseFinished(owner, LifecyclePhase.AFTER_ALL);
+        commitPhaseEvent(event, owner, LifecyclePhase.AFTER_ALL);
+    }
+
+    /**
+     * Returns the instance to invoke a {@code @BeforeAll}/{@code @AfterAll} method on:
+     * null for static methods, the shared class instance otherwise.
+     */
+    private Object lifecycleTarget(Method method, TestCase testCase) throws Exception {
+        return Modifier.isStatic(method.getModifiers()) ? null : executor.getClassInstance(testCase);
+    }
+
+    private void commitPhaseEvent(TestPhaseEvent event, String owner, LifecyclePhase phase) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.owner = owner;
+            event.phase = phase.getDisplayName();
+            event.commit();
+        }
     }
 
     public static void main(String[] args) {
@@ -121,6 +648,18 @@ public class TestRunner {
             printUsage();
             return;
         }
+        if (args[0].equals("render")) {
+            render(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args[0].equals("cds")) {
+            trainCdsArchive(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args[0].equals("worker")) {
+            runWorker(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
 
         TestScanner scanner = TestScannerFactory.createDefault();
         TestExecutor executor = TestExecutorFactory.createDefault();
@@ -129,9 +668,30 @@ public class TestRunner {
         String htmlReportPath = null;
         String xmlReportPath = null;
         String filterPattern = null;
+        String selectExpression = null;
         boolean generateHtml = false;
         boolean generateXml = false;
         boolean openInBrowser = false;
+        boolean showMetrics = false;
+        BufferedConsoleTestReporter.Mode consoleMode = null;
+        String jfrPath = null;
+        String metricsPath = null;
+        int metricsPort = 0;
+        int livePort = -1;
+        String tracePath = null;
+        String journalPath = null;
+        String resumePath = null;
+        int captureBytes = 0;
+        String snapshotDir = "snapshots";
+        boolean updateSnapshots = false;
+        boolean pruneSnapshots = false;
+        int parallelism = 1;
+        boolean adaptiveParallelism = false;
+        String cdsPath = null;
+        boolean cdsRefresh = false;
+        Isolation isolation = Isolation.NONE;
+        int coordinatorPort = -1;
+        int localWorkers = 0;
         
         // Parse arguments
         for (int i = 0; i < args.length; i++) {
@@ -151,11 +711,132 @@ public class TestRunner {
                 case "--open":
                     openInBrowser = true;
                     break;
+                case "--quiet":
+                    consoleMode = BufferedConsoleTestReporter.Mode.QUIET;
+                    break;
+                case "--progress":
+                    consoleMode = BufferedConsoleTestReporter.Mode.PROGRESS;
+                    break;
+                case "--show-metrics":
+                    showMetrics = true;
+                    break;
+                case "--jfr":
+                    if (i + 1 < args.length) {
+                        jfrPath = args[++i];
+                    }
+                    break;
+                case "--metrics-file":
+                    if (i + 1 < args.length) {
+                        metricsPath = args[++i];
+                    }
+                    break;
+                case "--metrics-port":
+                    if (i + 1 >= args.length || !args[i + 1].matches("\\d{1,5}")
+                            || Integer.parseInt(args[i + 1]) < 1 || Integer.parseInt(args[i + 1]) > 65535) {
+                        System.out.println("Error: --metrics-port needs a port number between 1 and 65535");
+                        return;
+                    }
+                    metricsPort = Integer.parseInt(args[++i]);
+                    break;
+                case "--live":
+                    livePort = 0;
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        if (!args[i + 1].matches("\\d{1,5}")
+                                || Integer.parseInt(args[i + 1]) < 1 || Integer.parseInt(args[i + 1]) > 65535) {
+                            System.out.println("Error: --live needs a port number between 1 and 65535");
+                            return;
+                        }
+                        livePort = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--trace":
+                    tracePath = "test-trace.json";
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        tracePath = args[++i];
+                    }
+                    break;
+                case "--journal":
+                    if (i + 1 < args.length) {
+                        journalPath = args[++i];
+                    }
+                    break;
+                case "--capture-output":
+                    captureBytes = 64 * 1024;
+                    if (i + 1 < args.length && args[i + 1].matches("-?\\d+")) {
+                        if (!args[i + 1].matches("\\d{1,9}") || Integer.parseInt(args[i + 1]) < 1) {
+                            System.out.println("Error: --capture-output needs a positive size in bytes");
+                            return;
+                        }
+                        captureBytes = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--resume":
+                    if (i + 1 < args.length) {
+                        resumePath = args[++i];
+                    }
+                    break;
+                case "--snapshot-dir":
+                    if (i + 1 < args.length) {
+                        snapshotDir = args[++i];
+                    }
+                    break;
+                case "--update-snapshots":
+                    updateSnapshots = true;
+                    break;
+                case "--prune-snapshots":
+                    pruneSnapshots = true;
+                    break;
                 case "--filter":
                     if (i + 1 < args.length) {
                         filterPattern = args[++i];
                     }
                     break;
+                case "--cds":
+                    if (i + 1 < args.length) {
+                        cdsPath = args[++i];
+                    }
+                    break;
+                case "--cds-refresh":
+                    cdsRefresh = true;
+                    break;
+                case "--select":
+                    if (i + 1 < args.length) {
+                        selectExpression = args[++i];
+                    }
+                    break;
+                case "--parallel":
+                    parallelism = Runtime.getRuntime().availableProcessors();
+                    adaptiveParallelism = false;
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        parallelism = Integer.parseInt(args[++i]);
+                    } else if (i + 1 < args.length && args[i + 1].equals("auto")) {
+                        i++;
+                        adaptiveParallelism = true;
+                        parallelism = ADAPTIVE_MAX_PER_CPU * Runtime.getRuntime().availableProcessors();
+                        if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                            parallelism = Integer.parseInt(args[++i]);
+                        }
+                    }
+                    break;
+                case "--isolate":
+                    isolation = Isolation.TEST_CLASSES;
+                    if (i + 1 < args.length && args[i + 1].equals("all")) {
+                        i++;
+                        isolation = Isolation.ALL;
+                    }
+                    break;
+                case "--coordinator":
+                    coordinatorPort = DEFAULT_COORDINATOR_PORT;
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        coordinatorPort = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--local-workers":
+                    localWorkers = Runtime.getRuntime().availableProcessors();
+                    if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                        localWorkers = Integer.parseInt(args[++i]);
+                    }
+                    break;
                 case "--help":
                 case "-h":
                     printUsage();
@@ -172,24 +853,170 @@ public class TestRunner {
             System.out.println("Error: No test classes specified");
             return;
         }
+        if (cdsPath != null && !CdsArchive.isChild() && launchWithCdsArchive(args, cdsPath, cdsRefresh)) {
+            return;
+        }
+        TagSelection selection = null;
+        if (selectExpression != null) {
+            try {
+                selection = TagSelection.compile(selectExpression);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Error: Invalid --select expression: " + e.getMessage());
+                return;
+            }
+        }
         
         // Create reporter(s) using factory
         String finalHtmlPath = htmlReportPath != null ? htmlReportPath : "test-report.html";
         String finalXmlPath = xmlReportPath != null ? xmlReportPath : "test-report.xml";
+        if (showMetrics && consoleMode != null) {
+            System.out.println("Warning: --show-metrics adds a line to each test, which --quiet and --progress do not print. Ignoring --show-metrics.");
+        }
+        TestReporter consoleReporter = consoleMode != null
+            ? TestReporterFactory.createBufferedConsoleReporter(consoleMode)
+            : TestReporterFactory.createConsoleReporter(showMetrics);
         TestReporter reporter = TestReporterFactory.createFromConfig(
-            generateHtml, generateXml, finalHtmlPath, finalXmlPath
+            generateHtml, generateXml, finalHtmlPath, finalXmlPath, consoleReporter
         );
+        if (metricsPath != null || metricsPort > 0) {
+            reporter = TestReporterFactory.createCompositeReporter(
+                reporter, TestReporterFactory.createMetricsReporter(metricsPath, metricsPort));
+        }
+        if (livePort >= 0) {
+            try {
+                reporter = TestReporterFactory.createCompositeReporter(
+                    reporter, TestReporterFactory.createLiveReporter(livePort));
+            } catch (IOException e) {
+                System.err.println("Failed to start live dashboard: " + e.getMessage());
+            }
+        }
+        if (tracePath != null) {
+            try {
+                reporter = TestReporterFactory.createCompositeReporter(
+                    reporter, TestReporterFactory.createTraceReporter(tracePath));
+            } catch (IOException e) {
+                System.err.println("Failed to create trace file: " + e.getMessage());
+            }
+        }
+        JournalWriter resumedJournal = null;
+        if (resumePath != null && journalPath != null && !Paths.get(journalPath).equals(Paths.get(resumePath))) {
+            System.out.println("Warning: --resume appends to the journal it resumes from. Ignoring --journal " + journalPath + ".");
+        }
+        if (resumePath != null) {
+            try {
+                if (Files.exists(Paths.get(resumePath))) {
+                    resumedJournal = JournalWriter.resume(Paths.get(resumePath));
+                    System.out.println("Resuming run from " + resumePath + ": "
+                        + resumedJournal.getRecordedResults().size() + " test(s) already completed");
+                } else {
+                    resumedJournal = new JournalWriter(Paths.get(resumePath));
+                }
+                reporter = TestReporterFactory.createCompositeReporter(reporter, resumedJournal);
+            } catch (IOException e) {
+                System.err.println("Failed to resume from run journal: " + e.getMessage());
+            }
+        } else if (journalPath != null) {
+            try {
+                reporter = TestReporterFactory.createCompositeReporter(
+                    reporter, TestReporterFactory.createJournalReporter(journalPath));
+            } catch (IOException e) {
+                System.err.println("Failed to create run journal: " + e.getMessage());
+            }
+        }
 
         if (openInBrowser && !generateHtml) {
             System.out.println("Warning: --open requires --html flag. Ignoring --open.");
             openInBrowser = false;
         }
 
+        SnapshotStore snapshots = new SnapshotStore(Paths.get(snapshotDir), updateSnapshots);
+        SnapshotStore.setDefault(snapshots);
+        if (pruneSnapshots && (filterPattern != null || selectExpression != null || resumePath != null)) {
+            System.out.println("Warning: --prune-snapshots would remove the snapshots of tests left out by --filter, --select or --resume. Ignoring --prune-snapshots.");
+            pruneSnapshots = false;
+        }
+
         TestRunner runner = new TestRunner(scanner, executor, reporter);
         if (filterPattern != null) {
             runner.setFilterPattern(filterPattern);
         }
-        runner.run(testClasses.toArray(new String[0]));
+        runner.setSelection(selection);
+        runner.setIsolation(isolation);
+        if (adaptiveParallelism) {
+            runner.setAdaptiveParallelism(parallelism);
+        } else {
+            runner.setParallelism(parallelism);
+        }
+        if (resumedJournal != null) {
+            runner.setResumedResults(resumedJournal.getRecordedResults());
+        }
+        Coordinator coordinator = null;
+        if (coordinatorPort >= 0 || localWorkers > 0) {
+            List<String> workerArgs = new ArrayList<>(List.of("--snapshot-dir", snapshotDir));
+            if (updateSnapshots) {
+                workerArgs.add("--update-snapshots");
+            }
+            if (captureBytes > 0) {
+                workerArgs.addAll(List.of("--capture-output", String.valueOf(captureBytes)));
+            }
+            if (isolation != Isolation.NONE) {
+                workerArgs.add("--isolate");
+                if (isolation == Isolation.ALL) {
+                    workerArgs.add("all");
+                }
+            }
+            coordinator = startCoordinator(reporter, Math.max(coordinatorPort, 0), coordinatorPort < 0,
+                localWorkers, workerArgs);
+            runner.setCoordinator(coordinator);
+            if (coordinator != null && pruneSnapshots) {
+                System.out.println("Warning: --prune-snapshots does not see the snapshots asserted by workers. Ignoring --prune-snapshots.");
+                pruneSnapshots = false;
+            }
+        }
+        JfrRecording recording = null;
+        if (jfrPath != null) {
+            try {
+                recording = JfrRecording.start(Paths.get(jfrPath));
+            } catch (Exception e) {
+                System.err.println("Failed to start JFR recording: " + e.getMessage());
+            }
+        }
+
+        if (captureBytes > 0) {
+            OutputCapture.install(captureBytes);
+        }
+        try {
+            runner.run(testClasses.toArray(new String[0]));
+        } finally {
+            OutputCapture.uninstall();
+            if (coordinator != null) {
+                coordinator.close();
+            }
+        }
+
+        if (pruneSnapshots && (runner.lastRunTotals.failed > 0 || runner.lastRunTotals.skipped > 0)) {
+            System.out.println("Warning: --prune-snapshots would remove the snapshots of failed or skipped tests. Ignoring --prune-snapshots.");
+            pruneSnapshots = false;
+        }
+        if (updateSnapshots || pruneSnapshots) {
+            try {
+                int deleted = snapshots.pruneOrphans(pruneSnapshots);
+                if (deleted > 0) {
+                    System.out.println("Removed " + deleted + " orphaned snapshot file(s) from " + snapshotDir);
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to clean up snapshots: " + e.getMessage());
+            }
+        }
+
+        if (recording != null) {
+            try {
+                recording.close();
+                System.out.println("JFR recording written: " + jfrPath);
+            } catch (Exception e) {
+                System.err.println("Failed to write JFR recording: " + e.getMessage());
+            }
+        }
         
         // Open HTML report in browser if requested
         if (openInBrowser && generateHtml) {
@@ -197,20 +1024,254 @@ public class TestRunner {
         }
     }
 
+    /**
+     * Renders HTML and/or XML reports from a run journal: {@code render <journal> [--html [file]] [--xml [file]]}.
+     */
+    private static void render(String[] args) {
+        String journalPath = null;
+        List<TestReporter> reporters = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--html":
+                    String htmlPath = "test-report.html";
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        htmlPath = args[++i];
+                    }
+                    reporters.add(TestReporterFactory.createHtmlReporter(htmlPath));
+                    break;
+                case "--xml":
+                    String xmlPath = "test-report.xml";
+                    if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                        xmlPath = args[++i];
+                    }
+                    reporters.add(TestReporterFactory.createXmlReporter(xmlPath));
+                    break;
+                default:
+                    if (!args[i].startsWith("--")) {
+                        journalPath = args[i];
+                    }
+                    break;
+            }
+        }
+        if (journalPath == null) {
+            System.out.println("Error: No run journal specified");
+            return;
+        }
+        if (reporters.isEmpty()) {
+            reporters.add(TestReporterFactory.createHtmlReporter("test-report.html"));
+        }
+        try {
+            int results = JournalRenderer.render(Paths.get(journalPath), reporters);
+            System.out.println("Rendered " + results + " result(s) from " + journalPath);
+        } catch (IOException e) {
+            System.err.println("Failed to render run journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates an AppCDS archive with a training run: {@code cds <archive> [options] <TestClass> ...}.
+     */
+    private static void trainCdsArchive(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Error: Usage: TestRunner cds <archive> [options] <TestClass> ...");
+            return;
+        }
+        try {
+            int exitCode = new CdsArchive(Paths.get(args[0])).train(Arrays.asList(args).subList(1, args.length));
+            if (exitCode != 0) {
+                System.exit(exitCode);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to create CDS archive: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Relaunches the run in a JVM that uses the CDS archive, or that regenerates
+     * it if it is missing or stale and {@code refresh} is set.
+     *
+     * @return true if the run was done by the child JVM, false to run in this JVM
+     */
+    private static boolean launchWithCdsArchive(String[] args, String cdsPath, boolean refresh) {
+        CdsArchive archive = new CdsArchive(Paths.get(cdsPath));
+        List<String> runnerArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--cds")) {
+                i++;
+            } else if (!args[i].equals("--cds-refresh")) {
+                runnerArgs.add(args[i]);
+            }
+        }
+        try {
+            int exitCode;
+            if (archive.isFresh()) {
+                exitCode = archive.run(runnerArgs);
+            } else if (refresh) {
+                System.out.println("CDS archive " + cdsPath + " is missing or stale. Regenerating it with this run.");
+                exitCode = archive.train(runnerArgs);
+            } else {
+                System.out.println("Warning: CDS archive " + cdsPath
+                    + " is missing or stale. Running without it; use --cds-refresh to regenerate it.");
+                return false;
+            }
+            if (exitCode != 0) {
+                System.exit(exitCode);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to launch with CDS archive: " + e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * Starts a coordinator and, if {@code localWorkers} is positive, that many workers on this machine.
+     *
+     * @return the coordinator, or null to run the tests in this JVM
+     */
+    private static Coordinator startCoordinator(TestReporter reporter, int port, boolean loopbackOnly,
+                                                int localWorkers, List<String> workerArgs) {
+        Coordinator coordinator;
+        try {
+            coordinator = new Coordinator(port, loopbackOnly, reporter);
+        } catch (IOException e) {
+            System.err.println("Failed to start coordinator on port " + port + ": " + e.getMessage()
+                + ". Running tests in this JVM.");
+            return null;
+        }
+        if (localWorkers == 0) {
+            System.out.println("Coordinator listening on port " + coordinator.getPort()
+                + ". Start workers with: TestRunner worker <host>:" + coordinator.getPort());
+            return coordinator;
+        }
+        try {
+            coordinator.startLocalWorkers(localWorkers, workerArgs);
+            System.out.println("Coordinator listening on port " + coordinator.getPort() + " with "
+                + localWorkers + " local worker(s)");
+            return coordinator;
+        } catch (IOException e) {
+            System.err.println("Failed to start local workers: " + e.getMessage() + ". Running tests in this JVM.");
+            coordinator.close();
+            return null;
+        }
+    }
+
+    /**
+     * Runs tests for a coordinator: {@code worker <host:port> [--capture-output [bytes]] [--isolate [all]]
+     * [--snapshot-dir <dir>] [--update-snapshots]}.
+     */
+    private static void runWorker(String[] args) {
+        String address = null;
+        int captureBytes = 0;
+        String snapshotDir = "snapshots";
+        boolean updateSnapshots = false;
+        Isolation isolation = Isolation.NONE;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--isolate":
+                    isolation = Isolation.TEST_CLASSES;
+                    if (i + 1 < args.length && args[i + 1].equals("all")) {
+                        i++;
+                        isolation = Isolation.ALL;
+                    }
+                    break;
+                case "--capture-output":
+                    captureBytes = 64 * 1024;
+                    if (i + 1 < args.length && args[i + 1].matches("-?\\d+")) {
+                        if (!args[i + 1].matches("\\d{1,9}") || Integer.parseInt(args[i + 1]) < 1) {
+                            System.out.println("Error: --capture-output needs a positive size in bytes");
+                            return;
+                        }
+                        captureBytes = Integer.parseInt(args[++i]);
+                    }
+                    break;
+                case "--snapshot-dir":
+                    if (i + 1 < args.length) {
+                        snapshotDir = args[++i];
+                    }
+                    break;
+                case "--update-snapshots":
+                    updateSnapshots = true;
+                    break;
+                default:
+                    if (!args[i].startsWith("--")) {
+                        address = args[i];
+                    }
+                    break;
+            }
+        }
+        int separator = address != null ? address.lastIndexOf(':') : -1;
+        if (separator <= 0 || !address.substring(separator + 1).matches("\\d+")) {
+            System.out.println("Error: Usage: TestRunner worker <host:port> [--capture-output [bytes]] [--isolate [all]]");
+            return;
+        }
+        SnapshotStore.setDefault(new SnapshotStore(Paths.get(snapshotDir), updateSnapshots));
+        if (captureBytes > 0) {
+            OutputCapture.install(captureBytes);
+        }
+        try {
+            Worker.run(address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)), isolation);
+        } catch (IOException e) {
+            System.err.println("Failed to run worker for " + address + ": " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            OutputCapture.uninstall();
+        }
+    }
+
     private static void printUsage() {
         System.out.println("Usage: java ... TestRunner [options] <fully.qualified.TestClass> ...");
+        System.out.println("       java ... TestRunner render <journal> [--html [file]] [--xml [file]]");
+        System.out.println("       java ... TestRunner cds <archive> [options] <fully.qualified.TestClass> ...");
+        System.out.println("       java ... TestRunner worker <host:port> [--capture-output [bytes]] [--isolate [all]]");
         System.out.println();
         System.out.println("Options:");
         System.out.println("  --html [file]     Generate HTML report (default: test-report.html)");
         System.out.println("  --xml [file]      Generate XML report in JUnit format (default: test-report.xml)");
         System.out.println("  --open            Open HTML report in browser after generation");
         System.out.println("  --filter <regex>  Only run tests matching the pattern");
+        System.out.println("  --select <expr>   Only run tests whose @Tags match, e.g. \"fast & !db | smoke\"");
+        System.out.println("  --parallel [n]    Run up to n test classes at the same time (default: number of CPUs)");
+        System.out.println("  --parallel auto [max]  Adjust the number of concurrent tests to CPU, heap and GC load (default max: 4 per CPU)");
+        System.out.println("  --isolate [all]   Load each test class (with all: and the classes it uses) in its own class loader");
+        System.out.println("  --coordinator [port]  Hand the tests to workers that connect on the port (default: 7420)");
+        System.out.println("  --local-workers [n]   Start n workers on this machine (default: number of CPUs)");
+        System.out.println("  --quiet           Print only failures and the summary");
+        System.out.println("  --progress        Show a single-line progress bar instead of one line per test");
+        System.out.println("  --capture-output [bytes]  Capture test output per test, shown for failures only");
+        System.out.println("  --show-metrics    Print per-test CPU time, allocation and GC on the console");
+        System.out.println("  --jfr <file>      Record the run with Java Flight Recorder into the file");
+        System.out.println("  --metrics-file <file>  Write run metrics in OpenMetrics format at the end of the run");
+        System.out.println("  --metrics-port <port>  Serve run metrics on http://localhost:<port>/metrics during the run");
+        System.out.println("  --live [port]     Serve a live progress dashboard on http://localhost:<port>/");
+        System.out.println("  --trace [file]    Write a Chrome trace-event timeline (default: test-trace.json)");
+        System.out.println("  --journal <file>  Append every result to a binary run journal for later rendering");
+        System.out.println("  --resume <file>   Skip tests already recorded in the run journal and append the rest to it");
+        System.out.println("  --snapshot-dir <dir>  Directory of the snapshot store (default: snapshots)");
+        System.out.println("  --update-snapshots    Accept changed snapshots and remove orphaned snapshot contents");
+        System.out.println("  --prune-snapshots     Also remove snapshots that were not asserted in this run;");
+        System.out.println("                        name every test class, and all tests must pass");
+        System.out.println("  --cds <archive>   Start the run in a JVM that uses the AppCDS archive if it is up to date");
+        System.out.println("  --cds-refresh     With --cds, regenerate a missing or stale archive with this run");
+        System.out.println("                    (CDS needs a classpath of JARs, without class directories)");
         System.out.println("  --help, -h        Show this help message");
         System.out.println();
         System.out.println("Examples:");
         System.out.println("  java ... TestRunner com.example.MyTest");
         System.out.println("  java ... TestRunner --html --xml com.example.MyTest");
         System.out.println("  java ... TestRunner --filter \"testAdd.*\" com.example.MyTest");
+        System.out.println("  java ... TestRunner --select \"fast & !db\" com.example.MyTest");
+        System.out.println("  java ... TestRunner --journal run.journal com.example.MyTest");
+        System.out.println("  java ... TestRunner render run.journal --html --xml");
+        System.out.println("  java ... TestRunner --isolate all --parallel 4 com.example.MyTest com.example.OtherTest");
+        System.out.println("  java ... TestRunner --local-workers 4 com.example.MyTest com.example.OtherTest");
+        System.out.println("  java ... TestRunner --cds tests.jsa --cds-refresh --xml com.example.MyTest");
     }
     
     private static void openReportInBrowser(String filePath) {
@@ -0,0 +1,132 @@
+package com.myframework.dev.runner;
+
+import com.myframework.dev.journal.RunJournal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Messages between the coordinator and its workers. Every message is framed
+ * like a run journal record (length, type, payload, checksum), and results
+ * are sent in the journal's encoding.
+ * <pre>
+ *   worker      -> coordinator: HELLO name | REQUEST | STARTED test | PHASE_STARTED owner phase
+ *                               | PHASE_FINISHED owner phase | RESULT result | DONE passed
+ *   coordinator -> worker:      BATCH class method... | SHUTDOWN
+ * </pre>
+ * A worker sends REQUEST when it is idle and gets the next batch, or SHUTDOWN
+ * when the run is over. It reports the batch as it runs and ends it with DONE.
+ */
+final class WorkProtocol {
+
+    static final byte RESULT = RunJournal.RESULT;
+    static final byte HELLO = 10;
+    static final byte REQUEST = 11;
+    static final byte BATCH = 12;
+    static final byte STARTED = 13;
+    static final byte PHASE_STARTED = 14;
+    static final byte PHASE_FINISHED = 15;
+    static final byte DONE = 16;
+    static final byte SHUTDOWN = 17;
+
+    /** Largest payload accepted, so that a peer speaking another protocol cannot make us allocate gigabytes. */
+    private static final int MAX_PAYLOAD = 64 * 1024 * 1024;
+
+    /**
+     * A received message.
+     */
+    static final class Message {
+        final byte type;
+        final ByteBuffer payload;
+
+        private Message(byte type, ByteBuffer payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        List<String> strings() {
+            return readStrings(payload);
+        }
+    }
+
+    private WorkProtocol() {
+    }
+
+    /**
+     * Writes one message. Callers writing from several threads must synchronize on the stream.
+     */
+    static void send(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        out.write(RunJournal.frame(type, payload));
+        out.flush();
+    }
+
+    static void send(DataOutputStream out, byte type) throws IOException {
+        send(out, type, new byte[0]);
+    }
+
+    /**
+     * Reads one message, waiting until it has arrived.
+     *
+     * @throws IOException if the connection ends or the message is corrupt
+     */
+    static Message receive(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD) {
+            throw new IOException("Invalid message length " + length);
+        }
+        byte type = in.readByte();
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        if (in.readInt() != RunJournal.checksum(type, payload, 0, length)) {
+            throw new IOException("Corrupt message of type " + type);
+        }
+        return new Message(type, ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Encodes strings, each as its UTF-8 length and bytes.
+     */
+    static byte[] strings(List<String> values) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(values.size());
+            for (String value : values) {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] strings(String... values) {
+        return strings(List.of(values));
+    }
+
+    /**
+     * Decodes strings written by {@link #strings(List)}.
+     */
+    static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(in);
+        }
+        return List.of(values);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package com.myframework.dev.runner;
+
+import com.myframework.dev.core.LifecyclePhase;
+import com.myframework.dev.core.SharedFixtures;
+import com.myframework.dev.core.TestExecutorFactory;
+import com.myframework.dev.core.TestResult;
+import com.myframework.dev.core.TestScannerFactory;
+import com.myframework.dev.journal.RunJournal;
+import com.myframework.dev.report.TestReporter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * A worker process: connects to a {@link Coordinator}, asks for batches of
+ * tests until there are none left, runs them and streams every event and
+ * result back. Shared fixtures are kept between batches and closed when the
+ * worker exits.
+ */
+final class Worker implements TestReporter {
+
+    private static final long CONNECT_TIMEOUT_MILLIS = 30_000;
+    private static final long CONNECT_RETRY_MILLIS = 500;
+
+    private final DataOutputStream out;
+
+    private Worker(DataOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Runs batches from the coordinator at {@code host:port}, loading test
+     * classes as {@code isolation} says. A coordinator that is not listening
+     * yet is retried for up to 30 seconds.
+     */
+    static void run(String host, int port, TestRunner.Isolation isolation) throws IOException, InterruptedException {
+        try (Socket socket = connect(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            Worker worker = new Worker(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+            TestRunner runner = new TestRunner(TestScannerFactory.createDefault(),
+                TestExecutorFactory.createDefault(), worker);
+            runner.setIsolation(isolation);
+            worker.send(WorkProtocol.HELLO, WorkProtocol.strings(ManagementFactory.getRuntimeMXBean().getName()));
+            while (true) {
+                worker.send(WorkProtocol.REQUEST, new byte[0]);
+                WorkProtocol.Message message = WorkProtocol.receive(in);
+                if (message.type != WorkProtocol.BATCH) {
+                    break;
+                }
+                List<String> names = message.strings();
+                boolean passed = runner.runBatch(names.get(0), new HashSet<>(names.subList(1, names.size())));
+                worker.send(WorkProtocol.DONE, new byte[] {(byte) (passed ? 1 : 0)});
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            SharedFixtures.getDefault().closeAll();
+        }
+    }
+
+    private static Socket connect(String host, int port) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                Thread.sleep(CONNECT_RETRY_MILLIS);
+            }
+        }
+    }
+
+    @Override
+    public void testStarted(String testName) {
+        send(WorkProtocol.STARTED, WorkProtocol.strings(testName));
+    }
+
+    @Override
+    public void testFinished(TestResult result) {
+        send(WorkProtocol.RESULT, RunJournal.encodeResult(result));
+    }
+
+    @Override
+    public void phaseStarted(String owner, LifecyclePhase phase) {
+        send(WorkProtocol.PHASE_STARTED, WorkProtocol.strings(owner, phase.name()));
+    }
+
+    @Override
+    public void phaseFinished(String owner, LifecyclePhase phase) {
+        send(WorkProtocol.PHASE_FINISHED, WorkProtocol.strings(owner, phase.name()));
+    }
+
+    @Override
+    public void testRunFinished(int total, int passed, int failed, int skipped) {
+        // The coordinator reports the run
+    }
+
+    /**
+     * Sends a message; tests of a batch may report from several threads.
+     */
+    private void send(byte type, byte[] payload) {
+        synchronized (out) {
+            try {
+                WorkProtocol.send(out, type, payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}